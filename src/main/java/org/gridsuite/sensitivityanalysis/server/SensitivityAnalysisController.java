@@ -6,8 +6,12 @@
  */
 package org.gridsuite.sensitivityanalysis.server;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.powsybl.sensitivity.SensitivityAnalysisResult;
 import com.powsybl.sensitivity.SensitivityFunctionType;
 import org.gridsuite.computation.error.ComputationException;
@@ -25,19 +29,30 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.gridsuite.sensitivityanalysis.server.dto.*;
 import org.gridsuite.sensitivityanalysis.server.dto.parameters.FactorCount;
 import org.gridsuite.sensitivityanalysis.server.dto.parameters.SensitivityAnalysisParametersInfos;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ContingencyImpactsSelector;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultTab;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultsSelector;
 import org.gridsuite.sensitivityanalysis.server.service.*;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityArrowWriter;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.gridsuite.computation.service.NotificationService.HEADER_USER_ID;
 import static org.springframework.http.MediaType.*;
@@ -49,22 +64,32 @@ import static org.springframework.http.MediaType.*;
 @RequestMapping(value = "/" + SensitivityAnalysisApi.API_VERSION)
 @Tag(name = "Sensitivity analysis server")
 public class SensitivityAnalysisController {
+    private static final int MAX_SENSITIVITY_KEYS = 50_000;
+
     private final SensitivityAnalysisService service;
 
     private final SensitivityAnalysisWorkerService workerService;
     private final SensitivityAnalysisParametersService sensitivityAnalysisParametersService;
     private final SensitivityAnalysisFactorCountService sensitivityAnalysisFactorCountService;
+    private final SensitivityAnalysisExportService exportService;
+    private final RemoteInputsCache remoteInputsCache;
+    private final NetworkCache networkCache;
 
     private final ObjectMapper objectMapper;
 
     public SensitivityAnalysisController(SensitivityAnalysisService service, SensitivityAnalysisWorkerService workerService,
                                          SensitivityAnalysisParametersService sensitivityAnalysisParametersService,
-                                         ObjectMapper objectMapper, SensitivityAnalysisFactorCountService sensitivityAnalysisFactorCountService) {
+                                         ObjectMapper objectMapper, SensitivityAnalysisFactorCountService sensitivityAnalysisFactorCountService,
+                                         SensitivityAnalysisExportService exportService, RemoteInputsCache remoteInputsCache,
+                                         NetworkCache networkCache) {
         this.service = service;
         this.workerService = workerService;
         this.sensitivityAnalysisParametersService = sensitivityAnalysisParametersService;
         this.objectMapper = objectMapper;
         this.sensitivityAnalysisFactorCountService = sensitivityAnalysisFactorCountService;
+        this.exportService = exportService;
+        this.remoteInputsCache = remoteInputsCache;
+        this.networkCache = networkCache;
     }
 
     private ResultsSelector getSelector(String selectorJson) throws JsonProcessingException {
@@ -76,6 +101,16 @@ public class SensitivityAnalysisController {
                 objectMapper.readValue(selectorJson, ResultsSelector.class);
     }
 
+    /**
+     * Completed results are immutable : a query whose entity tag matches one already known by the client
+     * is answered without reading the result again
+     */
+    private static boolean isNotModified(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .anyMatch(tag -> tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag));
+    }
+
     @PostMapping(value = "/networks/{networkUuid}/run", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
     @Operation(summary = "Run a sensitivity analysis on a network")
     @ApiResponses(value = {@ApiResponse(responseCode = "200",
@@ -141,8 +176,8 @@ public class SensitivityAnalysisController {
         return ResponseEntity.ok().body(factorCount);
     }
 
-    @GetMapping(value = "/results/{resultUuid}", produces = APPLICATION_JSON_VALUE)
-    @Operation(summary = "Get a sensitivity analysis result from the database")
+    @GetMapping(value = "/results/{resultUuid}", produces = {APPLICATION_JSON_VALUE, SensitivityArrowWriter.MEDIA_TYPE_VALUE})
+    @Operation(summary = "Get a sensitivity analysis result from the database, as json by default or as arrow file on demand")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The sensitivity analysis result"),
         @ApiResponse(responseCode = "404", description = "Sensitivity analysis result has not been found"),
         @ApiResponse(responseCode = "400", description = "Invalid filter format")})
@@ -152,7 +187,9 @@ public class SensitivityAnalysisController {
             @Parameter(description = "JSON array of filters") @RequestParam(name = "filters", required = false) String filters,
             @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters,
             @Parameter(description = "network Uuid") @RequestParam(name = "networkUuid", required = false) UUID networkUuid,
-            @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId
+            @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         try {
             String decodedStringFilters = filters != null ? URLDecoder.decode(filters, StandardCharsets.UTF_8) : null;
@@ -160,8 +197,13 @@ public class SensitivityAnalysisController {
             List<ResourceFilterDTO> resourceFilters = FilterUtils.fromStringFiltersToDTO(decodedStringFilters, objectMapper);
             GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(decodedStringGlobalFilters, objectMapper);
             ResultsSelector selector = getSelector(selectorJson);
+            Optional<String> eTag = service.getResultETag(resultUuid, globalFilter, accept, selectorJson, filters, networkUuid, variantId);
+            if (eTag.isPresent() && isNotModified(ifNoneMatch, eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
             SensitivityRunQueryResult result = service.getRunResult(resultUuid, networkUuid, variantId, selector, resourceFilters, globalFilter);
-            return result != null ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result) : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            // the content type is negotiated from the Accept header
+            return result != null ? ResponseEntity.ok().eTag(eTag.orElse(null)).body(result) : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (ComputationException e) {
             // Handle JSON processing errors with bad request status
             return ResponseEntity.badRequest().build();
@@ -171,15 +213,100 @@ public class SensitivityAnalysisController {
         }
     }
 
+    @GetMapping(value = "/results/{resultUuid}/stream", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all the sensitivities of a sensitivity analysis result from the database, as newline delimited json")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The sensitivities of the sensitivity analysis result"),
+        @ApiResponse(responseCode = "404", description = "Sensitivity analysis result has not been found"),
+        @ApiResponse(responseCode = "400", description = "Invalid selector or filter format")})
+    public ResponseEntity<StreamingResponseBody> streamResult(
+            @Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+            @RequestParam(name = "selector", required = false) String selectorJson,
+            @Parameter(description = "JSON array of filters") @RequestParam(name = "filters", required = false) String filters,
+            @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters,
+            @Parameter(description = "network Uuid") @RequestParam(name = "networkUuid", required = false) UUID networkUuid,
+            @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId
+    ) {
+        try {
+            String decodedStringFilters = filters != null ? URLDecoder.decode(filters, StandardCharsets.UTF_8) : null;
+            String decodedStringGlobalFilters = globalFilters != null ? URLDecoder.decode(globalFilters, StandardCharsets.UTF_8) : null;
+            List<ResourceFilterDTO> resourceFilters = FilterUtils.fromStringFiltersToDTO(decodedStringFilters, objectMapper);
+            GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(decodedStringGlobalFilters, objectMapper);
+            ResultsSelector selector = getSelector(selectorJson);
+            if (!service.existsRunResult(resultUuid)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            // the global filter is resolved before the response starts being streamed, so that its errors are reported
+            List<ResourceFilterDTO> allResourceFilters = service.getAllResourceFilters(networkUuid, variantId, resourceFilters, globalFilter);
+            StreamingResponseBody body = outputStream -> writeNdjson(outputStream,
+                writer -> service.streamRunResult(resultUuid, selector, allResourceFilters, writer));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        } catch (JsonProcessingException | ComputationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private void writeNdjson(OutputStream outputStream, Consumer<Consumer<SensitivityOfTo>> producer) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            producer.accept(sensitivity -> {
+                try {
+                    writer.writeValue(generator, sensitivity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeRaw('\n');
+        }
+    }
+
+    @PostMapping(value = "/results/{resultUuid}/sensitivities", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get specific sensitivities of a sensitivity analysis result from their function, variable and contingency ids")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The sensitivities, in the order of the keys, null when a key does not exist"),
+        @ApiResponse(responseCode = "404", description = "Sensitivity analysis result has not been found"),
+        @ApiResponse(responseCode = "400", description = "Too many keys")})
+    public ResponseEntity<List<SensitivityOfTo>> getSensitivities(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                                  @Parameter(description = "Function type") @RequestParam(name = "functionType") SensitivityFunctionType functionType,
+                                                                  @RequestBody List<SensitivityKey> keys) {
+        if (keys.size() > MAX_SENSITIVITY_KEYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<SensitivityOfTo> result = service.getSensitivities(resultUuid, functionType, keys);
+        return result != null ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result)
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
     @GetMapping(value = "/results/{resultUuid}/filter-options", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get all filter options of sensitivity analysis results")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The sensitivity analysis result filter options"),
         @ApiResponse(responseCode = "404", description = "Sensitivity analysis result has not been found")})
     public ResponseEntity<SensitivityResultFilterOptions> getResultFilerOptions(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
-                                                                                @RequestParam(name = "selector", required = false) String selectorJson) {
+                                                                                @RequestParam(name = "selector", required = false) String selectorJson,
+                                                                                @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             ResultsSelector selector = getSelector(selectorJson);
+            Optional<String> eTag = service.getResultETag(resultUuid, null, "filter-options", selectorJson);
+            if (eTag.isPresent() && isNotModified(ifNoneMatch, eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
             SensitivityResultFilterOptions result = service.getSensitivityResultOptions(resultUuid, selector);
+            return result != null ? ResponseEntity.ok().eTag(eTag.orElse(null)).contentType(MediaType.APPLICATION_JSON).body(result)
+                    : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/results/{resultUuid}/contingency-impacts", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the impact summary of each contingency of a sensitivity analysis result")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency impacts"),
+        @ApiResponse(responseCode = "404", description = "Sensitivity analysis result has not been found"),
+        @ApiResponse(responseCode = "400", description = "Invalid selector format")})
+    public ResponseEntity<ContingencyImpactsQueryResult> getContingencyImpacts(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                                               @RequestParam(name = "selector") String selectorJson) {
+        try {
+            ContingencyImpactsSelector selector = objectMapper.readValue(selectorJson, ContingencyImpactsSelector.class);
+            ContingencyImpactsQueryResult result = service.getContingencyImpacts(resultUuid, selector);
             return result != null ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(result)
                     : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (JsonProcessingException e) {
@@ -192,6 +319,38 @@ public class SensitivityAnalysisController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "All sensitivity analysis results have been deleted")})
     public ResponseEntity<Void> deleteResults(@Parameter(description = "Results UUID") @RequestParam(value = "resultsUuids", required = false) List<UUID> resultsUuids) {
         service.deleteResults(resultsUuids);
+        exportService.deleteExportJobs(resultsUuids);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping(value = "/remote-inputs-cache")
+    @Operation(summary = "Invalidate the cached exports of contingency lists and filters")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The cached exports have been invalidated")})
+    public ResponseEntity<Void> invalidateRemoteInputsCache(@Parameter(description = "Contingency lists or filters UUIDs, all the exports are invalidated when neither them nor a network is given")
+                                                            @RequestParam(name = "uuids", required = false) List<UUID> uuids,
+                                                            @Parameter(description = "Network UUID") @RequestParam(name = "networkUuid", required = false) UUID networkUuid) {
+        if (uuids != null) {
+            remoteInputsCache.invalidate(uuids);
+        }
+        if (networkUuid != null) {
+            remoteInputsCache.invalidateNetwork(networkUuid);
+        }
+        if (uuids == null && networkUuid == null) {
+            remoteInputsCache.invalidateAll();
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping(value = "/network-cache")
+    @Operation(summary = "Invalidate the voltage level buses kept for the next runs, when their network has been modified")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The cached voltage level buses have been invalidated")})
+    public ResponseEntity<Void> invalidateNetworkCache(@Parameter(description = "Network UUID, the voltage levels of all the networks are invalidated when not given")
+                                                       @RequestParam(name = "networkUuid", required = false) UUID networkUuid) {
+        if (networkUuid != null) {
+            networkCache.invalidateNetwork(networkUuid);
+        } else {
+            networkCache.invalidateAll();
+        }
         return ResponseEntity.ok().build();
     }
 
@@ -232,13 +391,53 @@ public class SensitivityAnalysisController {
     @PostMapping(value = "/results/{resultUuid}/csv")
     @Operation(summary = "export sensitivity results as csv file")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Sensitivity results successfully exported as csv file"))
-    public ResponseEntity<byte[]> exportSensitivityResultsAsCsv(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+    public ResponseEntity<StreamingResponseBody> exportSensitivityResultsAsCsv(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                                @Parameter(description = "network Uuid") @RequestParam(name = "networkUuid", required = false) UUID networkUuid,
+                                                                @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                @Parameter(description = "Sorting and filtering of the exported sensitivities, the whole filtered result being exported whatever the page") @RequestParam(name = "selector", required = false) String selectorJson,
+                                                                @Parameter(description = "JSON array of filters") @RequestParam(name = "filters", required = false) String filters,
+                                                                @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters,
+                                                                @RequestBody SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos,
+                                                                @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(APPLICATION_OCTET_STREAM);
+        httpHeaders.setContentDispositionFormData("attachment", "sensitivity_results.zip");
+
+        try {
+            String decodedStringFilters = filters != null ? URLDecoder.decode(filters, StandardCharsets.UTF_8) : null;
+            String decodedStringGlobalFilters = globalFilters != null ? URLDecoder.decode(globalFilters, StandardCharsets.UTF_8) : null;
+            List<ResourceFilterDTO> resourceFilters = FilterUtils.fromStringFiltersToDTO(decodedStringFilters, objectMapper);
+            GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(decodedStringGlobalFilters, objectMapper);
+            ResultsSelector selector = getSelector(selectorJson);
+            // same key as the export jobs, so that a client can revalidate the file of either one
+            Optional<String> eTag = service.getResultETag(resultUuid, globalFilter, "csv", selectorJson, filters, networkUuid, variantId, sensitivityAnalysisCsvFileInfos);
+            if (eTag.isPresent() && isNotModified(ifNoneMatch, eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+
+            // errors have to be reported before the zip starts being streamed to the response
+            service.checkCsvExport(resultUuid, sensitivityAnalysisCsvFileInfos);
+            List<ResourceFilterDTO> allResourceFilters = service.getAllResourceFilters(networkUuid, variantId, resourceFilters, globalFilter);
+            StreamingResponseBody zip = outputStream -> service.exportSensitivityResultsAsCsv(resultUuid, sensitivityAnalysisCsvFileInfos,
+                selector, allResourceFilters, outputStream);
+            return ResponseEntity.ok().eTag(eTag.orElse(null))
+                    .headers(httpHeaders)
+                    .body(zip);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/results/{resultUuid}/csv/archive")
+    @Operation(summary = "export sensitivity results of several tabs and function types as csv files of a single archive")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "Sensitivity results successfully exported as csv archive"))
+    public ResponseEntity<StreamingResponseBody> exportSensitivityResultsAsCsvArchive(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
                                                                 @Parameter(description = "network Uuid") @RequestParam(name = "networkUuid", required = false) UUID networkUuid,
                                                                 @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId,
-                                                                @RequestParam(name = "selector", required = false) String selectorJson,
+                                                                @Parameter(description = "Sorting and filtering applied to every file, whose tab and function type are ignored") @RequestParam(name = "selector", required = false) String selectorJson,
                                                                 @Parameter(description = "JSON array of filters") @RequestParam(name = "filters", required = false) String filters,
                                                                 @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters,
-                                                                @RequestBody SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos) {
+                                                                @RequestBody List<SensitivityAnalysisCsvFileInfos> sensitivityAnalysisCsvFilesInfos) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setContentType(APPLICATION_OCTET_STREAM);
         httpHeaders.setContentDispositionFormData("attachment", "sensitivity_results.zip");
@@ -250,12 +449,113 @@ public class SensitivityAnalysisController {
             GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(decodedStringGlobalFilters, objectMapper);
             ResultsSelector selector = getSelector(selectorJson);
 
-            byte[] csv = service.exportSensitivityResultsAsCsv(resultUuid, sensitivityAnalysisCsvFileInfos, networkUuid, variantId, selector, resourceFilters, globalFilter);
+            // errors have to be reported before the zip starts being streamed to the response
+            service.checkCsvArchiveExport(resultUuid, sensitivityAnalysisCsvFilesInfos);
+            List<ResourceFilterDTO> allResourceFilters = service.getAllResourceFilters(networkUuid, variantId, resourceFilters, globalFilter);
+            StreamingResponseBody zip = outputStream -> service.exportSensitivityResultsAsCsvArchive(resultUuid, sensitivityAnalysisCsvFilesInfos,
+                selector, allResourceFilters, outputStream);
             return ResponseEntity.ok()
                     .headers(httpHeaders)
-                    .body(csv);
+                    .body(zip);
         } catch (JsonProcessingException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @GetMapping(value = "/results/{resultUuid}/arrow", produces = SensitivityArrowWriter.MEDIA_TYPE_VALUE)
+    @Operation(summary = "export sensitivity results of a tab and function type as arrow file, with dictionary encoded ids and double values")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Sensitivity results successfully exported as arrow file"),
+        @ApiResponse(responseCode = "404", description = "Sensitivity analysis result has not been found")})
+    public ResponseEntity<StreamingResponseBody> exportSensitivityResultsAsArrow(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                                                 @Parameter(description = "network Uuid") @RequestParam(name = "networkUuid", required = false) UUID networkUuid,
+                                                                                 @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                                 @RequestParam(name = "selector", required = false) String selectorJson,
+                                                                                 @Parameter(description = "JSON array of filters") @RequestParam(name = "filters", required = false) String filters,
+                                                                                 @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters) {
+        try {
+            String decodedStringFilters = filters != null ? URLDecoder.decode(filters, StandardCharsets.UTF_8) : null;
+            String decodedStringGlobalFilters = globalFilters != null ? URLDecoder.decode(globalFilters, StandardCharsets.UTF_8) : null;
+            List<ResourceFilterDTO> resourceFilters = FilterUtils.fromStringFiltersToDTO(decodedStringFilters, objectMapper);
+            GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(decodedStringGlobalFilters, objectMapper);
+            ResultsSelector selector = getSelector(selectorJson);
+
+            // errors have to be reported before the file starts being streamed to the response
+            service.checkArrowExport(resultUuid, selector);
+            List<ResourceFilterDTO> allResourceFilters = service.getAllResourceFilters(networkUuid, variantId, resourceFilters, globalFilter);
+            StreamingResponseBody arrowFile = outputStream -> service.exportSensitivityResultsAsArrow(resultUuid, selector, allResourceFilters, outputStream);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(SensitivityArrowWriter.MEDIA_TYPE_VALUE))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("sensitivity_results.arrow").build().toString())
+                    .body(arrowFile);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/results/{resultUuid}/csv/jobs", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Start exporting sensitivity results as csv file in the background")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The export job has been started, or an identical one has been found"),
+        @ApiResponse(responseCode = "404", description = "Sensitivity analysis result has not been found")})
+    public ResponseEntity<ExportJobInfos> submitCsvExportJob(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
+                                                             @Parameter(description = "network Uuid") @RequestParam(name = "networkUuid", required = false) UUID networkUuid,
+                                                             @Parameter(description = "variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                             @RequestParam(name = "selector", required = false) String selectorJson,
+                                                             @Parameter(description = "JSON array of filters") @RequestParam(name = "filters", required = false) String filters,
+                                                             @Parameter(description = "Global Filters") @RequestParam(name = "globalFilters", required = false) String globalFilters,
+                                                             @Parameter(description = "Export receiver") @RequestParam(name = "receiver", required = false) String receiver,
+                                                             @RequestBody SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos,
+                                                             @RequestHeader(HEADER_USER_ID) String userId) {
+        try {
+            String decodedStringFilters = filters != null ? URLDecoder.decode(filters, StandardCharsets.UTF_8) : null;
+            String decodedStringGlobalFilters = globalFilters != null ? URLDecoder.decode(globalFilters, StandardCharsets.UTF_8) : null;
+            List<ResourceFilterDTO> resourceFilters = FilterUtils.fromStringFiltersToDTO(decodedStringFilters, objectMapper);
+            GlobalFilter globalFilter = FilterUtils.fromStringGlobalFiltersToDTO(decodedStringGlobalFilters, objectMapper);
+            ResultsSelector selector = getSelector(selectorJson);
+            service.checkCsvExport(resultUuid, sensitivityAnalysisCsvFileInfos);
+            // identical exports of a completed result have the same entity tag, and share the same file
+            Optional<String> requestKey = service.getResultETag(resultUuid, globalFilter, "csv", selectorJson, filters, networkUuid, variantId, sensitivityAnalysisCsvFileInfos);
+            List<ResourceFilterDTO> allResourceFilters = service.getAllResourceFilters(networkUuid, variantId, resourceFilters, globalFilter);
+            ExportJobInfos exportJob = exportService.submitExport(resultUuid, requestKey.orElse(null),
+                outputStream -> service.exportSensitivityResultsAsCsv(resultUuid, sensitivityAnalysisCsvFileInfos, selector, allResourceFilters, outputStream),
+                receiver, userId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exportJob);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/export-jobs/{jobId}", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the state of an export job")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The export job has been found"),
+        @ApiResponse(responseCode = "404", description = "The export job has not been found")})
+    public ResponseEntity<ExportJobInfos> getExportJob(@Parameter(description = "Export job UUID") @PathVariable("jobId") UUID jobId) {
+        return exportService.getExportJob(jobId)
+                .map(job -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(job))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/export-jobs/{jobId}/file")
+    @Operation(summary = "Download the file of a completed export job, range requests being supported to resume a download")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The exported file"),
+        @ApiResponse(responseCode = "206", description = "The requested range of the exported file"),
+        @ApiResponse(responseCode = "404", description = "The export job has not been found, is not completed or has not been requested by the user")})
+    public ResponseEntity<Resource> downloadExportFile(@Parameter(description = "Export job UUID") @PathVariable("jobId") UUID jobId,
+                                                       @RequestHeader(HEADER_USER_ID) String userId) {
+        // range requests on a resource body are answered with partial content by spring
+        return exportService.getExportFile(jobId, userId)
+                .map(file -> ResponseEntity.ok()
+                        .contentType(APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("sensitivity_results.zip").build().toString())
+                        .eTag("\"" + jobId + "\"")
+                        .body(file))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping(value = "/export-jobs/{jobId}")
+    @Operation(summary = "Delete an export job and its file")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The export job has been deleted")})
+    public ResponseEntity<Void> deleteExportJob(@Parameter(description = "Export job UUID") @PathVariable("jobId") UUID jobId) {
+        exportService.deleteExportJob(jobId);
+        return ResponseEntity.ok().build();
+    }
 }
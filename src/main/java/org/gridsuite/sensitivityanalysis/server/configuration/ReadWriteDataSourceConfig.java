@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits the database access in two pools when a read datasource (a replica for instance) is configured :
+ * the write pool keeps the spring.datasource settings and serves the result writers, while
+ * {@code @Transactional(readOnly = true)} methods are served by the read pool, so that large result ingestions
+ * and UI reads cannot starve each other. Reads that must see a commit made just before (the status, the completion
+ * timestamp the ETags derive from) are not read-only, so that they are served by the write pool.
+ * Without sensitivity-analysis.datasource.read.jdbc-url, the single spring boot datasource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sensitivity-analysis.datasource.read", name = "jdbc-url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("sensitivity-analysis-write");
+        return dataSource;
+    }
+
+    /**
+     * Credentials default to the write ones, everything else (jdbc-url, maximum-pool-size...) is read from
+     * the sensitivity-analysis.datasource.read hikari properties
+     */
+    @Bean
+    @ConfigurationProperties("sensitivity-analysis.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setUsername(dataSourceProperties.determineUsername());
+        dataSource.setPassword(dataSourceProperties.determinePassword());
+        dataSource.setPoolName("sensitivity-analysis-read");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        return ReadWriteRoutingDataSource.create(writeDataSource, readDataSource);
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.configuration;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends the connections of read-only transactions to the read datasource, and everything else to the write datasource.
+ * The transaction read-only flag is only known once the transaction has begun, which is why the routing datasource
+ * is always used behind a {@link LazyConnectionDataSourceProxy} : the physical connection is only fetched on the first statement.
+ */
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        READ,
+        WRITE
+    }
+
+    private ReadWriteRoutingDataSource() {
+    }
+
+    public static DataSource create(DataSource writeDataSource, DataSource readDataSource) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(Route.WRITE, writeDataSource, Route.READ, readDataSource));
+        routingDataSource.setDefaultTargetDataSource(writeDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ : Route.WRITE;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.configuration;
+
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityOfTo;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityRunQueryResult;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityWithContingency;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultTab;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityArrowWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a {@link SensitivityRunQueryResult} as an Arrow IPC file, negotiated with {@value SensitivityArrowWriter#MEDIA_TYPE_VALUE}.
+ * The columns are the ones of the arrow export, see {@link SensitivityArrowWriter}, with the ids dictionary encoded
+ * against the ids of the page. The page description is given by the schema metadata : resultTab, functionType,
+ * requestedChunkSize, chunkOffset, totalSensitivitiesCount and filteredSensitivitiesCount.
+ * JSON stays the default format of the result endpoint, this one has to be explicitly requested with the Accept header.
+ */
+@Component
+public class SensitivityRunQueryResultArrowConverter extends AbstractHttpMessageConverter<SensitivityRunQueryResult> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(SensitivityArrowWriter.MEDIA_TYPE_VALUE);
+
+    public SensitivityRunQueryResultArrowConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SensitivityRunQueryResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SensitivityRunQueryResult readInternal(Class<? extends SensitivityRunQueryResult> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The arrow format is only produced by the server", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(SensitivityRunQueryResult result, HttpOutputMessage outputMessage) throws IOException {
+        List<? extends SensitivityOfTo> sensitivities = result.getSensitivities();
+        boolean withContingency = result.getResultTab() == ResultTab.N_K;
+
+        Set<String> functionIds = new LinkedHashSet<>();
+        Set<String> variableIds = new LinkedHashSet<>();
+        Set<String> contingencyIds = new LinkedHashSet<>();
+        sensitivities.forEach(sensitivity -> {
+            functionIds.add(sensitivity.getFuncId());
+            variableIds.add(sensitivity.getVarId());
+            if (withContingency) {
+                contingencyIds.add(((SensitivityWithContingency) sensitivity).getContingencyId());
+            }
+        });
+        Map<String, String> metadata = Map.of(
+            "resultTab", result.getResultTab().name(),
+            "functionType", result.getFunctionType().name(),
+            "requestedChunkSize", String.valueOf(result.getRequestedChunkSize()),
+            "chunkOffset", String.valueOf(result.getChunkOffset()),
+            "totalSensitivitiesCount", String.valueOf(result.getTotalSensitivitiesCount()),
+            "filteredSensitivitiesCount", String.valueOf(result.getFilteredSensitivitiesCount()));
+
+        // the response body is flushed and closed by the caller
+        try (SensitivityArrowWriter arrowWriter = new SensitivityArrowWriter(StreamUtils.nonClosing(outputMessage.getBody()), withContingency,
+                List.copyOf(functionIds), List.copyOf(variableIds), List.copyOf(contingencyIds), metadata)) {
+            arrowWriter.start();
+            for (SensitivityOfTo sensitivity : sensitivities) {
+                arrowWriter.write(sensitivity);
+            }
+            arrowWriter.finish();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.dto;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+
+/**
+ * Impact summary of a contingency for a function type:
+ * maximum |valueAfter - value|, maximum post-contingency function reference and number of factors whose
+ * sensitivity is changed by the contingency.
+ */
+public record ContingencyImpact(String contingencyId,
+                                SensitivityFunctionType functionType,
+                                Double maxDelta,
+                                Double maxPostFunctionReference,
+                                Long impactedFactorCount) {
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.dto;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class ContingencyImpactsQueryResult {
+    @NonNull
+    SensitivityFunctionType functionType;
+
+    @NonNull
+    Integer requestedChunkSize;
+
+    @NonNull
+    Long totalContingenciesCount;
+
+    @NonNull
+    List<ContingencyImpact> contingencyImpacts;
+}
@@ -0,0 +1,15 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.dto;
+
+import java.util.UUID;
+
+/**
+ * State of a background export, the file size being only known once the export is completed
+ */
+public record ExportJobInfos(UUID jobId, UUID resultUuid, ExportJobStatus status, Long fileSize) {
+}
@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.dto;
+
+/**
+ * Identifies a single sensitivity of a result, the contingency id being null for a pre-contingency sensitivity
+ */
+public record SensitivityKey(String functionId, String variableId, String contingencyId) {
+
+    public static SensitivityKey of(SensitivityOfTo sensitivity) {
+        return new SensitivityKey(sensitivity.getFuncId(), sensitivity.getVarId(),
+            sensitivity instanceof SensitivityWithContingency withContingency ? withContingency.getContingencyId() : null);
+    }
+}
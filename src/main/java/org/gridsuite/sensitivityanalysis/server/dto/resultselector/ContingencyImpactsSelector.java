@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.dto.resultselector;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Schema(description = "Contingency impacts selector")
+public class ContingencyImpactsSelector {
+    @Schema(description = "function type (/MW /A /kV)")
+    @NonNull
+    private SensitivityFunctionType functionType;
+
+    @Schema(description = "sorting by [{key, rank * (ascending ? 1 : -1) }], with rank > 0 and exclusive")
+    private Map<ContingencyImpactSortKey, Integer> sortKeysWithWeightAndDirection;
+
+    @Schema(description = "page number")
+    private Integer pageNumber;
+
+    @Schema(description = "row number")
+    private Integer pageSize;
+}
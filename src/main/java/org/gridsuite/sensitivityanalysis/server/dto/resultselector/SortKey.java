@@ -18,5 +18,8 @@ public enum SortKey {
     REFERENCE,
     SENSITIVITY,
     POST_REFERENCE,
-    POST_SENSITIVITY
+    POST_SENSITIVITY,
+    ABS_SENSITIVITY,
+    ABS_POST_SENSITIVITY,
+    ABS_DELTA
 }
@@ -30,6 +30,12 @@ public class AnalysisResultEntity {
     @Column(columnDefinition = "timestamptz")
     private Instant writeTimeStamp;
 
+    /**
+     * Set once the computation is completed, the result is immutable from then on
+     */
+    @Column(columnDefinition = "timestamptz")
+    private Instant completionTimeStamp;
+
     public AnalysisResultEntity(UUID resultUuid, Instant writeTimeStamp) {
         this.resultUuid = resultUuid;
         this.writeTimeStamp = writeTimeStamp;
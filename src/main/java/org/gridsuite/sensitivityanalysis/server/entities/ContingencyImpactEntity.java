@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.entities;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldNameConstants;
+
+import java.util.UUID;
+
+/**
+ * Per contingency and function type summary of the N-K results, computed once when the analysis completes.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@FieldNameConstants
+@Table(
+    name = "contingency_impact",
+    indexes = {
+        @Index(name = "contingency_impact_analysis_result_function_type_idx", columnList = "analysis_result_id, function_type")
+    })
+public class ContingencyImpactEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "contingency_id", nullable = false)
+    private String contingencyId;
+
+    @Column(name = "function_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SensitivityFunctionType functionType;
+
+    @Column(name = "max_delta", nullable = false)
+    private double maxDelta;
+
+    @Column(name = "max_post_function_reference", nullable = false)
+    private double maxPostFunctionReference;
+
+    @Column(name = "impacted_factor_count", nullable = false)
+    private long impactedFactorCount;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "analysis_result_id")
+    private AnalysisResultEntity analysisResult;
+
+    public ContingencyImpactEntity(String contingencyId,
+                                   SensitivityFunctionType functionType,
+                                   double maxDelta,
+                                   double maxPostFunctionReference,
+                                   long impactedFactorCount,
+                                   AnalysisResultEntity analysisResult) {
+        this.contingencyId = contingencyId;
+        this.functionType = functionType;
+        this.maxDelta = maxDelta;
+        this.maxPostFunctionReference = maxPostFunctionReference;
+        this.impactedFactorCount = impactedFactorCount;
+        this.analysisResult = analysisResult;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.gridsuite.sensitivityanalysis.server.dto.ExportJobInfos;
+import org.gridsuite.sensitivityanalysis.server.dto.ExportJobStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State of a background export, shared by all the instances : the file itself is written in the export directory
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "export_job",
+    indexes = {
+        @Index(name = "export_job_request_key_idx", columnList = "request_key", unique = true),
+        @Index(name = "export_job_result_uuid_idx", columnList = "result_uuid")
+    })
+public class ExportJobEntity {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "result_uuid", nullable = false)
+    private UUID resultUuid;
+
+    /**
+     * Only set when the export content is immutable, identical exports then share the job
+     */
+    @Column(name = "request_key")
+    private String requestKey;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ExportJobStatus status;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "creation_date", nullable = false)
+    private Instant creationDate;
+
+    /**
+     * Set once the job is completed or failed, the expiration counting from it
+     */
+    @Column(name = "completion_date")
+    private Instant completionDate;
+
+    @ElementCollection
+    @CollectionTable(
+        name = "export_job_recipient",
+        joinColumns = @JoinColumn(name = "job_id"),
+        foreignKey = @ForeignKey(name = "export_job_recipient_job_id_fk"),
+        indexes = @Index(name = "export_job_recipient_job_id_idx", columnList = "job_id")
+    )
+    private List<ExportJobRecipientEmbeddable> recipients = new ArrayList<>();
+
+    public ExportJobEntity(UUID id, UUID resultUuid, String requestKey, Instant creationDate) {
+        this.id = id;
+        this.resultUuid = resultUuid;
+        this.requestKey = requestKey;
+        this.status = ExportJobStatus.RUNNING;
+        this.creationDate = creationDate;
+    }
+
+    public ExportJobInfos toInfos() {
+        return new ExportJobInfos(id, resultUuid, status, fileSize);
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notified when the export job is finished
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class ExportJobRecipientEmbeddable {
+
+    @Column(name = "receiver")
+    private String receiver;
+
+    @Column(name = "user_id")
+    private String userId;
+}
@@ -6,6 +6,8 @@
  */
 package org.gridsuite.sensitivityanalysis.server.repositories;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.gridsuite.sensitivityanalysis.server.entities.AnalysisResultEntity;
@@ -26,4 +28,11 @@ public interface AnalysisResultRepository extends JpaRepository<AnalysisResultEn
     void deleteAll();
 
     AnalysisResultEntity findByResultUuid(UUID resultUuid);
+
+    @Modifying
+    @Query(value = "UPDATE AnalysisResultEntity a SET a.completionTimeStamp = :completionTimeStamp WHERE a.resultUuid = :resultUuid")
+    void updateCompletionTimeStamp(UUID resultUuid, Instant completionTimeStamp);
+
+    @Query(value = "SELECT a.completionTimeStamp FROM AnalysisResultEntity a WHERE a.resultUuid = :resultUuid")
+    Optional<Instant> findCompletionTimeStampByResultUuid(UUID resultUuid);
 }
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.repositories;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import org.gridsuite.sensitivityanalysis.server.entities.ContingencyImpactEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.UUID;
+
+public interface ContingencyImpactRepository extends JpaRepository<ContingencyImpactEntity, UUID> {
+
+    @Modifying
+    @Query(value = "DELETE FROM ContingencyImpactEntity c WHERE c.analysisResult.resultUuid = :analysisResultUuid")
+    void deleteAllByAnalysisResultUuid(UUID analysisResultUuid);
+
+    @Modifying
+    @Override
+    @Query(value = "DELETE FROM ContingencyImpactEntity")
+    void deleteAll();
+
+    Page<ContingencyImpactEntity> findByAnalysisResultResultUuidAndFunctionType(UUID resultUuid, SensitivityFunctionType functionType, Pageable pageable);
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.repositories;
+
+import jakarta.persistence.LockModeType;
+import org.gridsuite.sensitivityanalysis.server.entities.ExportJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJobEntity, UUID> {
+
+    /**
+     * Locks the job, so that a recipient joining it cannot miss the notification of its completion
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT j FROM ExportJobEntity j WHERE j.id = :id")
+    Optional<ExportJobEntity> findByIdForUpdate(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT j FROM ExportJobEntity j WHERE j.requestKey = :requestKey")
+    Optional<ExportJobEntity> findByRequestKeyForUpdate(String requestKey);
+
+    @Query(value = "SELECT j.id FROM ExportJobEntity j")
+    List<UUID> findAllIds();
+
+    @Query(value = "SELECT j.id FROM ExportJobEntity j WHERE j.resultUuid IN :resultUuids")
+    List<UUID> findIdsByResultUuidIn(Collection<UUID> resultUuids);
+
+    /**
+     * Finished jobs expire from their completion, running jobs are only considered lost after the given date
+     */
+    @Query(value = "SELECT j.id FROM ExportJobEntity j WHERE j.completionDate < :expirationDate "
+        + "OR (j.completionDate IS NULL AND j.creationDate < :lostDate)")
+    List<UUID> findExpiredIds(Instant expirationDate, Instant lostDate);
+
+    @Query(value = "SELECT CASE WHEN COUNT(r) > 0 THEN TRUE ELSE FALSE END FROM ExportJobEntity j JOIN j.recipients r WHERE j.id = :id AND r.userId = :userId")
+    boolean existsRecipient(UUID id, String userId);
+}
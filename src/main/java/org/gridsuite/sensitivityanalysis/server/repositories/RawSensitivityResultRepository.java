@@ -22,6 +22,15 @@ public interface RawSensitivityResultRepository extends JpaRepository<RawSensiti
     @Query(value = "DELETE FROM RawSensitivityResultEntity f WHERE f.analysisResult.resultUuid = :analysisResultUuid")
     void deleteAllByAnalysisResultUuid(UUID analysisResultUuid);
 
+    @Modifying
+    @Query(value = "UPDATE raw_sensitivity_result r SET abs_delta = (" +
+        "SELECT ABS(r.value_ - pr.value_) FROM sensitivity_result s " +
+        "JOIN sensitivity_result p ON p.id = s.pre_contingency_sensitivity_result_id " +
+        "JOIN raw_sensitivity_result pr ON pr.analysis_result_id = p.analysis_result_id AND pr.factor_index = p.factor_index " +
+        "WHERE s.analysis_result_id = r.analysis_result_id AND s.factor_index = r.factor_index) " +
+        "WHERE r.analysis_result_id = :analysisResultUuid AND r.post_contingency = TRUE", nativeQuery = true)
+    void updateAbsDeltasByAnalysisResultUuid(UUID analysisResultUuid);
+
     @Modifying
     @Override
     @Query(value = "DELETE FROM RawSensitivityResultEntity")
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.repositories;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills the sort keys of the raw results existing before they were added, one analysis result at a time with a commit
+ * after each, so that the migration neither holds a lock on the whole table nor restarts from scratch when
+ * interrupted : the results already filled are skipped.
+ */
+public class RawSensitivityResultSortKeysBackfill implements CustomTaskChange {
+
+    private static final String FILL_FACTOR_COLUMNS = """
+        UPDATE raw_sensitivity_result r SET
+            abs_value = ABS(r.value_),
+            function_type = (SELECT s.function_type FROM sensitivity_result s
+                WHERE s.analysis_result_id = r.analysis_result_id AND s.factor_index = r.factor_index),
+            post_contingency = (SELECT s.contingency_id IS NOT NULL FROM sensitivity_result s
+                WHERE s.analysis_result_id = r.analysis_result_id AND s.factor_index = r.factor_index)
+        WHERE r.analysis_result_id = ? AND r.function_type IS NULL
+        """;
+
+    private static final String FILL_ABS_DELTA = """
+        UPDATE raw_sensitivity_result r SET abs_delta = (
+            SELECT ABS(r.value_ - pr.value_) FROM sensitivity_result s
+            JOIN sensitivity_result p ON p.id = s.pre_contingency_sensitivity_result_id
+            JOIN raw_sensitivity_result pr ON pr.analysis_result_id = p.analysis_result_id AND pr.factor_index = p.factor_index
+            WHERE s.analysis_result_id = r.analysis_result_id AND s.factor_index = r.factor_index)
+        WHERE r.analysis_result_id = ? AND r.post_contingency = TRUE AND r.abs_delta IS NULL
+        """;
+
+    private int resultCount;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try {
+            List<UUID> resultUuids = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT result_uuid FROM analysis_result");
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultUuids.add(resultSet.getObject(1, UUID.class));
+                }
+            }
+            try (PreparedStatement fillFactorColumns = connection.prepareStatement(FILL_FACTOR_COLUMNS);
+                 PreparedStatement fillAbsDelta = connection.prepareStatement(FILL_ABS_DELTA)) {
+                for (UUID resultUuid : resultUuids) {
+                    fillFactorColumns.setObject(1, resultUuid);
+                    fillFactorColumns.executeUpdate();
+                    fillAbsDelta.setObject(1, resultUuid);
+                    fillAbsDelta.executeUpdate();
+                    connection.commit();
+                }
+            }
+            resultCount = resultUuids.size();
+        } catch (SQLException e) {
+            throw new CustomChangeException(e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Sort keys filled for the raw results of " + resultCount + " analysis results";
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no resource needed
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
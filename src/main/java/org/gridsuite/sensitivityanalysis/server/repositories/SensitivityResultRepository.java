@@ -7,6 +7,7 @@
 package org.gridsuite.sensitivityanalysis.server.repositories;
 
 import com.powsybl.sensitivity.SensitivityFunctionType;
+import org.gridsuite.sensitivityanalysis.server.dto.ContingencyImpact;
 import org.gridsuite.sensitivityanalysis.server.entities.SensitivityResultEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -56,4 +57,16 @@ public interface SensitivityResultRepository extends JpaRepository<SensitivityRe
         "where s.analysisResult.resultUuid = :resultUuid and s.functionType = :sensitivityFunctionType " +
         "order by s.contingencyResult.contingencyId")
     List<String> getDistinctContingencyIds(UUID resultUuid, SensitivityFunctionType sensitivityFunctionType);
+
+    @Query(value = "SELECT new org.gridsuite.sensitivityanalysis.server.dto.ContingencyImpact(" +
+        "c.contingencyId, s.functionType, max(abs(r.value - pr.value)), max(r.functionReference), " +
+        "sum(case when abs(r.value - pr.value) > :impactThreshold then 1L else 0L end)) " +
+        "from SensitivityResultEntity as s " +
+        "join s.contingencyResult as c " +
+        "join s.rawSensitivityResult as r " +
+        "join s.preContingencySensitivityResult as p " +
+        "join p.rawSensitivityResult as pr " +
+        "where s.analysisResult.resultUuid = :resultUuid " +
+        "group by c.contingencyId, s.functionType")
+    List<ContingencyImpact> computeContingencyImpacts(UUID resultUuid, double impactThreshold);
 }
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.repositories;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityKey;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityOfTo;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityWithContingency;
+import org.gridsuite.sensitivityanalysis.server.entities.ContingencyResultEntity;
+import org.gridsuite.sensitivityanalysis.server.entities.RawSensitivityResultEntity;
+import org.gridsuite.sensitivityanalysis.server.entities.SensitivityResultEntity;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Reads sensitivity results through a forward-only cursor : only the columns needed by the DTOs are selected,
+ * so no entity is attached to the persistence context and memory does not grow with the result size.
+ * The returned stream must be consumed and closed inside a transaction.
+ */
+@Repository
+public class SensitivityResultStreamRepository {
+
+    private static final String FUNCTION_ID = "functionId";
+    private static final String VARIABLE_ID = "variableId";
+    private static final String VARIABLE_SET = "variableSet";
+    private static final String VALUE = "value";
+    private static final String FUNCTION_REFERENCE = "functionReference";
+    private static final String CONTINGENCY_ID = "contingencyId";
+    private static final String PRE_VALUE = "preValue";
+    private static final String PRE_FUNCTION_REFERENCE = "preFunctionReference";
+
+    // the keys are passed as arrays and joined as a table, so that a whole set of keys is read by one indexed query
+    private static final String LOOKUP_QUERY = "SELECT s.function_id, s.variable_id, s.variable_set, r.value_, r.function_reference " +
+        "FROM UNNEST(CAST(:functionIds AS VARCHAR ARRAY), CAST(:variableIds AS VARCHAR ARRAY)) AS k(function_id, variable_id) " +
+        "JOIN sensitivity_result s ON s.function_id = k.function_id AND s.variable_id = k.variable_id " +
+        "JOIN raw_sensitivity_result r ON r.analysis_result_id = s.analysis_result_id AND r.factor_index = s.factor_index " +
+        "WHERE s.analysis_result_id = :resultUuid AND s.function_type = :functionType AND s.contingency_id IS NULL";
+
+    private static final String LOOKUP_WITH_CONTINGENCY_QUERY = "SELECT s.function_id, s.variable_id, s.variable_set, r.value_, r.function_reference, " +
+        "c.contingency_id, pr.value_, pr.function_reference " +
+        "FROM UNNEST(CAST(:functionIds AS VARCHAR ARRAY), CAST(:variableIds AS VARCHAR ARRAY), CAST(:contingencyIds AS VARCHAR ARRAY)) " +
+        "AS k(function_id, variable_id, contingency_id) " +
+        "JOIN contingency_result c ON c.analysis_result_id = :resultUuid AND c.contingency_id = k.contingency_id " +
+        "JOIN sensitivity_result s ON s.contingency_id = c.id AND s.function_id = k.function_id AND s.variable_id = k.variable_id " +
+        "JOIN raw_sensitivity_result r ON r.analysis_result_id = s.analysis_result_id AND r.factor_index = s.factor_index " +
+        "JOIN sensitivity_result p ON p.id = s.pre_contingency_sensitivity_result_id " +
+        "JOIN raw_sensitivity_result pr ON pr.analysis_result_id = p.analysis_result_id AND pr.factor_index = p.factor_index " +
+        "WHERE s.analysis_result_id = :resultUuid AND s.function_type = :functionType";
+
+    private final EntityManager entityManager;
+
+    public SensitivityResultStreamRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Stream<SensitivityOfTo> streamSensitivities(Specification<SensitivityResultEntity> specification, Sort sort,
+                                                       boolean withContingency, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<SensitivityResultEntity> root = query.from(SensitivityResultEntity.class);
+
+        Path<RawSensitivityResultEntity> raw = root.get(SensitivityResultEntity.Fields.rawSensitivityResult);
+        List<Selection<?>> selections = new ArrayList<>(List.of(
+            root.get(SensitivityResultEntity.Fields.functionId).alias(FUNCTION_ID),
+            root.get(SensitivityResultEntity.Fields.variableId).alias(VARIABLE_ID),
+            root.get(SensitivityResultEntity.Fields.variableSet).alias(VARIABLE_SET),
+            raw.get(RawSensitivityResultEntity.Fields.value).alias(VALUE),
+            raw.get(RawSensitivityResultEntity.Fields.functionReference).alias(FUNCTION_REFERENCE)
+        ));
+        if (withContingency) {
+            Path<RawSensitivityResultEntity> preRaw = root.get(SensitivityResultEntity.Fields.preContingencySensitivityResult)
+                .get(SensitivityResultEntity.Fields.rawSensitivityResult);
+            selections.add(root.get(SensitivityResultEntity.Fields.contingencyResult).get(ContingencyResultEntity.Fields.contingencyId).alias(CONTINGENCY_ID));
+            selections.add(preRaw.get(RawSensitivityResultEntity.Fields.value).alias(PRE_VALUE));
+            selections.add(preRaw.get(RawSensitivityResultEntity.Fields.functionReference).alias(PRE_FUNCTION_REFERENCE));
+        }
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        return entityManager.createQuery(query)
+            .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(AvailableHints.HINT_READ_ONLY, true)
+            .getResultStream()
+            .map(tuple -> withContingency ? toSensitivityWithContingency(tuple) : toSensitivity(tuple));
+    }
+
+    /**
+     * Exact match of a set of keys, that must all be pre-contingency keys or all post-contingency keys
+     */
+    public Stream<SensitivityOfTo> lookupSensitivities(UUID resultUuid, SensitivityFunctionType functionType,
+                                                       boolean withContingency, Collection<SensitivityKey> keys, int fetchSize) {
+        Query query = entityManager.createNativeQuery(withContingency ? LOOKUP_WITH_CONTINGENCY_QUERY : LOOKUP_QUERY)
+            .setParameter("resultUuid", resultUuid)
+            .setParameter("functionType", functionType.name())
+            .setParameter("functionIds", keys.stream().map(SensitivityKey::functionId).toArray(String[]::new))
+            .setParameter("variableIds", keys.stream().map(SensitivityKey::variableId).toArray(String[]::new));
+        if (withContingency) {
+            query.setParameter("contingencyIds", keys.stream().map(SensitivityKey::contingencyId).toArray(String[]::new));
+        }
+        return ((Stream<?>) query
+            .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+            .getResultStream())
+            .map(Object[].class::cast)
+            .map(row -> withContingency ? toSensitivityWithContingency(row) : toSensitivity(row));
+    }
+
+    private static SensitivityOfTo toSensitivity(Object[] row) {
+        return SensitivityOfTo.builder()
+            .funcId((String) row[0])
+            .varId((String) row[1])
+            .varIsAFilter((Boolean) row[2])
+            .value(((Number) row[3]).doubleValue())
+            .functionReference(((Number) row[4]).doubleValue())
+            .build();
+    }
+
+    private static SensitivityOfTo toSensitivityWithContingency(Object[] row) {
+        return SensitivityWithContingency.builder()
+            .funcId((String) row[0])
+            .varId((String) row[1])
+            .varIsAFilter((Boolean) row[2])
+            .contingencyId((String) row[5])
+            .value(((Number) row[6]).doubleValue())
+            .functionReference(((Number) row[7]).doubleValue())
+            .valueAfter(((Number) row[3]).doubleValue())
+            .functionReferenceAfter(((Number) row[4]).doubleValue())
+            .build();
+    }
+
+    private static SensitivityOfTo toSensitivity(Tuple tuple) {
+        return SensitivityOfTo.builder()
+            .funcId(tuple.get(FUNCTION_ID, String.class))
+            .varId(tuple.get(VARIABLE_ID, String.class))
+            .varIsAFilter(tuple.get(VARIABLE_SET, Boolean.class))
+            .value(tuple.get(VALUE, Double.class))
+            .functionReference(tuple.get(FUNCTION_REFERENCE, Double.class))
+            .build();
+    }
+
+    private static SensitivityOfTo toSensitivityWithContingency(Tuple tuple) {
+        return SensitivityWithContingency.builder()
+            .funcId(tuple.get(FUNCTION_ID, String.class))
+            .varId(tuple.get(VARIABLE_ID, String.class))
+            .varIsAFilter(tuple.get(VARIABLE_SET, Boolean.class))
+            .contingencyId(tuple.get(CONTINGENCY_ID, String.class))
+            .value(tuple.get(PRE_VALUE, Double.class))
+            .functionReference(tuple.get(PRE_FUNCTION_REFERENCE, Double.class))
+            .valueAfter(tuple.get(VALUE, Double.class))
+            .functionReferenceAfter(tuple.get(FUNCTION_REFERENCE, Double.class))
+            .build();
+    }
+}
@@ -30,6 +30,11 @@ public class SensitivityResultNKSpecificationBuilder extends SensitivityResultSp
                 .and(Specification.not(nullContingency()));
     }
 
+    @Override
+    protected boolean isPostContingency() {
+        return true;
+    }
+
     @Override
     public Specification<SensitivityResultEntity> buildSpecificationFromSelector(UUID resultUuid, List<ResourceFilterDTO> resourceFilters, ResultsSelector selector) {
         return super.buildSpecificationFromSelector(resultUuid, resourceFilters, selector)
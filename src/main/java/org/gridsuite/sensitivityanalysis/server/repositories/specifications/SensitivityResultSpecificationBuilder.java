@@ -6,6 +6,7 @@
  */
 package org.gridsuite.sensitivityanalysis.server.repositories.specifications;
 
+import com.powsybl.sensitivity.SensitivityFunctionType;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.specification.AbstractCommonSpecificationBuilder;
 import jakarta.persistence.criteria.Path;
@@ -60,6 +61,7 @@ public class SensitivityResultSpecificationBuilder extends AbstractCommonSpecifi
 
     public Specification<SensitivityResultEntity> buildSpecificationFromSelector(UUID resultUuid, List<ResourceFilterDTO> resourceFilters, ResultsSelector selector) {
         return buildSpecification(resultUuid, resourceFilters, false)
+                .and(rawSensitivityResultOf(resultUuid, selector.getFunctionType(), isPostContingency()))
                 .and(fieldIn(
                         List.of(selector.getFunctionType()),
                         ResultsSelector.Fields.functionType,
@@ -74,6 +76,24 @@ public class SensitivityResultSpecificationBuilder extends AbstractCommonSpecifi
                         null));
     }
 
+    protected boolean isPostContingency() {
+        return false;
+    }
+
+    /**
+     * Same restriction as on the sensitivity results, repeated on the joined raw results so that the sort by magnitude
+     * can seek on their indexes
+     */
+    public Specification<SensitivityResultEntity> rawSensitivityResultOf(UUID resultUuid, SensitivityFunctionType functionType, boolean postContingency) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Object> rawSensitivityResult = root.get(SensitivityResultEntity.Fields.rawSensitivityResult);
+            return criteriaBuilder.and(
+                    criteriaBuilder.equal(rawSensitivityResult.get(RawSensitivityResultEntity.Fields.analysisResult).get(AnalysisResultEntity.Fields.resultUuid), resultUuid),
+                    criteriaBuilder.equal(rawSensitivityResult.get(RawSensitivityResultEntity.Fields.functionType), functionType),
+                    criteriaBuilder.equal(rawSensitivityResult.get(RawSensitivityResultEntity.Fields.postContingency), postContingency));
+        };
+    }
+
     public Specification<SensitivityResultEntity> nullRawValue() {
         return (root, query, criteriaBuilder) -> criteriaBuilder.and(
                 criteriaBuilder.isNull(
@@ -6,6 +6,7 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.powsybl.contingency.Contingency;
 import org.apache.commons.lang3.StringUtils;
 import org.gridsuite.sensitivityanalysis.server.dto.ContingencyListExportResult;
 import org.gridsuite.sensitivityanalysis.server.dto.CountWithMissingUuids;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -39,10 +41,13 @@ public class ActionsService {
     private static final String QUERY_PARAM_CONTINGENCY_LIST_IDS = "contingencyListIds";
 
     private final RestTemplate restTemplate;
+    private final RemoteInputsCache remoteInputsCache;
 
-    public ActionsService(@Value("${gridsuite.services.actions-server.base-uri:http://actions-server/}") String actionsServerBaseUri, RestTemplate restTemplate) {
+    public ActionsService(@Value("${gridsuite.services.actions-server.base-uri:http://actions-server/}") String actionsServerBaseUri, RestTemplate restTemplate,
+                          RemoteInputsCache remoteInputsCache) {
         this.actionsServerBaseUri = actionsServerBaseUri;
         this.restTemplate = restTemplate;
+        this.remoteInputsCache = remoteInputsCache;
     }
 
     public void setActionsServerBaseUri(String actionsServerBaseUri) {
@@ -65,6 +70,9 @@ public class ActionsService {
         return restTemplate.exchange(actionsServerBaseUri + path, HttpMethod.POST, httpEntity, new ParameterizedTypeReference<Map<String, CountWithMissingUuids>>() { }).getBody();
     }
 
+    /**
+     * Each contingency list is exported and cached on its own, so that the lists can be shared between requests
+     */
     public ContingencyListExportResult getContingencyList(List<UUID> contingencyListIds, UUID networkUuid, String variantId) {
         Objects.requireNonNull(contingencyListIds);
         for (UUID uuid : contingencyListIds) {
@@ -72,6 +80,24 @@ public class ActionsService {
         }
         Objects.requireNonNull(networkUuid);
 
+        List<Contingency> contingenciesFound = new ArrayList<>();
+        List<UUID> contingenciesNotFound = new ArrayList<>();
+        contingencyListIds.forEach(contingencyListId -> {
+            ContingencyListExportResult contingencyList = remoteInputsCache.getContingencyList(contingencyListId, networkUuid, variantId,
+                () -> exportContingencyLists(List.of(contingencyListId), networkUuid, variantId));
+            if (contingencyList != null) {
+                if (contingencyList.getContingenciesFound() != null) {
+                    contingenciesFound.addAll(contingencyList.getContingenciesFound());
+                }
+                if (contingencyList.getContingenciesNotFound() != null) {
+                    contingenciesNotFound.addAll(contingencyList.getContingenciesNotFound());
+                }
+            }
+        });
+        return new ContingencyListExportResult(contingenciesFound, contingenciesNotFound);
+    }
+
+    private ContingencyListExportResult exportContingencyLists(List<UUID> contingencyListIds, UUID networkUuid, String variantId) {
         var uriComponentsBuilder = UriComponentsBuilder
                 .fromPath(DELIMITER + ACTIONS_API_VERSION + "/contingency-lists/export")
                 .queryParam(NETWORK_UUID, networkUuid.toString());
@@ -6,13 +6,22 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.powsybl.iidm.network.Network;
 import com.powsybl.network.store.client.NetworkStoreService;
 import org.gridsuite.computation.dto.GlobalFilter;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
 import org.gridsuite.computation.service.AbstractFilterService;
+import org.gridsuite.filter.AbstractFilter;
 import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.filter.utils.FilterServiceUtils;
 import org.gridsuite.sensitivityanalysis.server.dto.FilterEquipments;
 import org.gridsuite.sensitivityanalysis.server.dto.IdentifiableAttributes;
 import org.gridsuite.sensitivityanalysis.server.dto.CountWithMissingUuids;
@@ -28,7 +37,9 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -38,10 +49,32 @@ public class FilterService extends AbstractFilterService {
     private static final String QUERY_PARAM_VARIANT_ID = "variantId";
     private static final String NETWORK_UUID = "networkUuid";
 
+    private final ObjectMapper objectMapper;
+    private final RemoteInputsCache remoteInputsCache;
+
+    /**
+     * Global filters are resolved against the network on each page, sort or export request of a result :
+     * resolutions are shared between those requests, and concurrent identical resolutions wait for a single remote call
+     */
+    private final Cache<ResourceFilterKey, Optional<ResourceFilterDTO>> resourceFilterCache;
+
+    private record ResourceFilterKey(UUID networkUuid, String variantId, JsonNode globalFilter) {
+    }
+
     public FilterService(RestTemplateBuilder restTemplateBuilder,
                          NetworkStoreService networkStoreService,
-                         @Value("${gridsuite.services.filter-server.base-uri:http://filter-server/}") String filterServerBaseUri) {
+                         @Value("${gridsuite.services.filter-server.base-uri:http://filter-server/}") String filterServerBaseUri,
+                         @Value("${sensitivity-analysis.global-filter-cache.ttl:PT1M}") Duration resourceFilterCacheTtl,
+                         @Value("${sensitivity-analysis.global-filter-cache.max-size:1000}") long resourceFilterCacheMaxSize,
+                         ObjectMapper objectMapper,
+                         RemoteInputsCache remoteInputsCache) {
         super(restTemplateBuilder, networkStoreService, filterServerBaseUri);
+        this.objectMapper = objectMapper;
+        this.remoteInputsCache = remoteInputsCache;
+        this.resourceFilterCache = Caffeine.newBuilder()
+            .expireAfterWrite(resourceFilterCacheTtl)
+            .maximumSize(resourceFilterCacheMaxSize)
+            .build();
     }
 
     public Map<String, CountWithMissingUuids> getIdentifiablesCountByGroup(SensitivityFactorsIdsByGroup factorsIds, UUID networkUuid, String variantId) {
@@ -62,10 +95,63 @@ public class FilterService extends AbstractFilterService {
         }).getBody();
     }
 
+    /**
+     * Only the filters missing from the cache are exported, in a single request
+     */
     public List<FilterEquipments> getFilterEquipments(List<UUID> filterUuids, UUID networkUuid, String variantId) {
         Objects.requireNonNull(filterUuids);
         Objects.requireNonNull(networkUuid);
 
+        Map<UUID, FilterEquipments> filterEquipmentsById = remoteInputsCache.getFilters(filterUuids, networkUuid, variantId);
+        List<UUID> missingFilterUuids = filterUuids.stream().filter(uuid -> !filterEquipmentsById.containsKey(uuid)).distinct().toList();
+        if (!missingFilterUuids.isEmpty()) {
+            List<FilterEquipments> exportedFilterEquipments = exportFilterEquipments(missingFilterUuids, networkUuid, variantId);
+            if (exportedFilterEquipments != null) {
+                exportedFilterEquipments.forEach(filterEquipments -> {
+                    remoteInputsCache.putFilter(filterEquipments, networkUuid, variantId);
+                    if (filterEquipments.getFilterId() != null) {
+                        filterEquipmentsById.put(filterEquipments.getFilterId(), filterEquipments);
+                    }
+                });
+            }
+        }
+        return filterUuids.stream().map(filterEquipmentsById::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Evaluates the filters against the given network, already loaded by the caller, instead of having the filter server
+     * load it again to export them. Only the definitions are requested, and cached as they do not depend on the network.
+     */
+    public List<FilterEquipments> evaluateFilters(List<UUID> filterUuids, Network network) {
+        Objects.requireNonNull(filterUuids);
+        Objects.requireNonNull(network);
+
+        Map<UUID, AbstractFilter> filtersById = getFilterDefinitions(filterUuids);
+        return filterUuids.stream()
+            .map(filtersById::get)
+            .filter(Objects::nonNull)
+            .map(filter -> new FilterEquipments(filter.getId(),
+                FilterServiceUtils.getIdentifiableAttributes(filter, network, this::getFilterDefinitionsList).stream()
+                    .map(attributes -> new IdentifiableAttributes(attributes.getId(), attributes.getType(), attributes.getDistributionKey()))
+                    .toList(),
+                List.of()))
+            .toList();
+    }
+
+    /**
+     * @return the cached definitions of the filters, the missing ones being requested in a single call
+     */
+    public Map<UUID, AbstractFilter> getFilterDefinitions(List<UUID> filterUuids) {
+        return remoteInputsCache.getFilterDefinitions(filterUuids, this::getFilters);
+    }
+
+    // used to load the filters referenced by the evaluated ones
+    private List<AbstractFilter> getFilterDefinitionsList(List<UUID> filterUuids) {
+        Map<UUID, AbstractFilter> filtersById = getFilterDefinitions(filterUuids);
+        return filterUuids.stream().map(filtersById::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<FilterEquipments> exportFilterEquipments(List<UUID> filterUuids, UUID networkUuid, String variantId) {
         var uriComponentsBuilder = UriComponentsBuilder
                 .fromPath(DELIMITER + FILTER_API_VERSION + "/filters/export")
                 .queryParam(IDS, filterUuids)
@@ -96,10 +182,36 @@ public class FilterService extends AbstractFilterService {
     }
 
     public Optional<ResourceFilterDTO> getResourceFilter(@NonNull UUID networkUuid, @NonNull String variantId, @NonNull GlobalFilter globalFilter) {
-        // Get equipment types from violation types
-        List<EquipmentType> equipmentTypes = List.of(EquipmentType.LINE, EquipmentType.TWO_WINDINGS_TRANSFORMER);
+        ResourceFilterKey key = new ResourceFilterKey(networkUuid, variantId, normalize(globalFilter));
+        return resourceFilterCache.get(key, k -> {
+            // Get equipment types from violation types
+            List<EquipmentType> equipmentTypes = List.of(EquipmentType.LINE, EquipmentType.TWO_WINDINGS_TRANSFORMER);
+
+            // Call the common implementation with specific parameters
+            return super.getResourceFilter(networkUuid, variantId, globalFilter, equipmentTypes, SensitivityResultEntity.Fields.functionId);
+        });
+    }
 
-        // Call the common implementation with specific parameters
-        return super.getResourceFilter(networkUuid, variantId, globalFilter, equipmentTypes, SensitivityResultEntity.Fields.functionId);
+    /**
+     * Two global filters selecting the same equipments get the same key : absent and empty criteria are dropped,
+     * and the values of each criterion are sorted as their order is meaningless
+     */
+    private JsonNode normalize(GlobalFilter globalFilter) {
+        ObjectNode normalized = objectMapper.createObjectNode();
+        objectMapper.valueToTree(globalFilter).properties().forEach(criterion -> {
+            JsonNode value = criterion.getValue();
+            if (value.isNull() || value.isContainerNode() && value.isEmpty()) {
+                return;
+            }
+            if (value.isArray()) {
+                ArrayNode sortedValues = normalized.putArray(criterion.getKey());
+                StreamSupport.stream(value.spliterator(), false)
+                    .sorted(Comparator.comparing(JsonNode::toString))
+                    .forEach(sortedValues::add);
+            } else {
+                normalized.set(criterion.getKey(), value);
+            }
+        });
+        return normalized;
     }
 }
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.gridsuite.sensitivityanalysis.server.dto.IdentifiableAttributes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Buses or busbar sections of the monitored voltage levels, computed by the runs of this pod for the next ones on the
+ * same variant : their expansion goes through the topology of the voltage levels. They are used by the next builds on
+ * the same variant, and by the factor counts.
+ * The networks themselves are not kept : the network store does not tell the version of a variant and no network
+ * modification notification is consumed, so a reused network could not be told apart from a modified one.
+ * For the same reason, the buses of a voltage level may be given up to a time to live after a topology change of its
+ * variant, unless the DELETE /network-cache endpoint is called by the modifier : they are not kept by default (a maximum
+ * number of voltage levels of 0), and should only be kept with a time to live the studies can accept as staleness window.
+ */
+@Service
+public class NetworkCache {
+
+    private record VoltageLevelKey(UUID networkUuid, String variantId, String voltageLevelId) {
+    }
+
+    private final long maxVoltageLevels;
+    private final Cache<VoltageLevelKey, List<IdentifiableAttributes>> voltageLevelBuses;
+
+    public NetworkCache(@Value("${sensitivity-analysis.network-cache.ttl:PT5M}") Duration ttl,
+                        @Value("${sensitivity-analysis.network-cache.max-voltage-levels:0}") long maxVoltageLevels) {
+        this.maxVoltageLevels = maxVoltageLevels;
+        this.voltageLevelBuses = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxVoltageLevels)
+            .build();
+    }
+
+    /**
+     * @return the cached buses or busbar sections of the voltage level, or the ones given by the loader from the network
+     * of the variant
+     */
+    public List<IdentifiableAttributes> getVoltageLevelBuses(UUID networkUuid, String variantId, String voltageLevelId,
+                                                             Supplier<List<IdentifiableAttributes>> loader) {
+        if (maxVoltageLevels == 0) {
+            return loader.get();
+        }
+        return voltageLevelBuses.get(new VoltageLevelKey(networkUuid, variantId, voltageLevelId), key -> List.copyOf(loader.get()));
+    }
+
+    public OptionalInt getVoltageLevelBusCount(UUID networkUuid, String variantId, String voltageLevelId) {
+        List<IdentifiableAttributes> buses = voltageLevelBuses.getIfPresent(new VoltageLevelKey(networkUuid, variantId, voltageLevelId));
+        return buses != null ? OptionalInt.of(buses.size()) : OptionalInt.empty();
+    }
+
+    /**
+     * Removes the voltage levels of any variant of the given network
+     */
+    public void invalidateNetwork(UUID networkUuid) {
+        voltageLevelBuses.asMap().keySet().removeIf(key -> key.networkUuid().equals(networkUuid));
+    }
+
+    public void invalidateAll() {
+        voltageLevelBuses.invalidateAll();
+    }
+}
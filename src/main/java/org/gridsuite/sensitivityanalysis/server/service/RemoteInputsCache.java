@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.sensitivityanalysis.server.dto.ContingencyListExportResult;
+import org.gridsuite.sensitivityanalysis.server.dto.FilterEquipments;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Contingency lists and filters exported against a network variant, shared by the runs and the factor counts : a study
+ * launches many runs with the same lists and filters on the same variant.
+ * Entries expire after a time to live, and are weighted by their number of contingencies or equipments to bound the
+ * memory used. No notification of a modified list, filter or network is consumed : until its entries expire, a run may
+ * be given the contingencies or equipments of a list, a filter or a network variant as they were up to a time to live
+ * ago, unless the DELETE /remote-inputs-cache endpoint is called by the modifier. The cache is thus off by default
+ * (a zero time to live), and should only be enabled with a time to live the studies can accept as staleness window.
+ * Filter definitions, which do not depend on the network, are also kept for the filters evaluated locally.
+ */
+@Service
+public class RemoteInputsCache {
+
+    private record Key(UUID uuid, UUID networkUuid, String variantId) {
+    }
+
+    private final Cache<Key, ContingencyListExportResult> contingencyLists;
+    private final Cache<Key, FilterEquipments> filters;
+    private final Cache<UUID, AbstractFilter> filterDefinitions;
+
+    public RemoteInputsCache(@Value("${sensitivity-analysis.remote-inputs-cache.ttl:PT0S}") Duration ttl,
+                             @Value("${sensitivity-analysis.remote-inputs-cache.max-elements:1000000}") long maxElements) {
+        this.contingencyLists = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumWeight(maxElements)
+            .<Key, ContingencyListExportResult>weigher((key, contingencyList) -> 1 + size(contingencyList.getContingenciesFound()))
+            .build();
+        this.filters = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumWeight(maxElements)
+            .<Key, FilterEquipments>weigher((key, filterEquipments) -> 1 + size(filterEquipments.getIdentifiableAttributes()))
+            .build();
+        this.filterDefinitions = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxElements)
+            .build();
+    }
+
+    /**
+     * @return the cached export of the contingency list, or the one given by the loader, which is cached unless null.
+     * Concurrent loads of the same list wait for a single load.
+     */
+    public ContingencyListExportResult getContingencyList(UUID contingencyListId, UUID networkUuid, String variantId,
+                                                          Supplier<ContingencyListExportResult> loader) {
+        return contingencyLists.get(new Key(contingencyListId, networkUuid, variantId), key -> loader.get());
+    }
+
+    public Optional<ContingencyListExportResult> getContingencyList(UUID contingencyListId, UUID networkUuid, String variantId) {
+        return Optional.ofNullable(contingencyLists.getIfPresent(new Key(contingencyListId, networkUuid, variantId)));
+    }
+
+    /**
+     * @return the cached exports among the given filters, by filter id
+     */
+    public Map<UUID, FilterEquipments> getFilters(Collection<UUID> filterIds, UUID networkUuid, String variantId) {
+        Map<UUID, FilterEquipments> filtersById = new HashMap<>();
+        filterIds.forEach(filterId -> {
+            FilterEquipments filterEquipments = filters.getIfPresent(new Key(filterId, networkUuid, variantId));
+            if (filterEquipments != null) {
+                filtersById.put(filterId, filterEquipments);
+            }
+        });
+        return filtersById;
+    }
+
+    public void putFilter(FilterEquipments filterEquipments, UUID networkUuid, String variantId) {
+        if (filterEquipments.getFilterId() != null && filterEquipments.getIdentifiableAttributes() != null) {
+            filters.put(new Key(filterEquipments.getFilterId(), networkUuid, variantId), filterEquipments);
+        }
+    }
+
+    /**
+     * @return the definitions of the given filters, by filter id : the missing ones are requested with a single call to
+     * the loader, the filters it does not return are absent
+     */
+    public Map<UUID, AbstractFilter> getFilterDefinitions(Collection<UUID> filterIds, Function<List<UUID>, List<AbstractFilter>> loader) {
+        return filterDefinitions.getAll(filterIds, missingFilterIds -> {
+            List<AbstractFilter> loadedFilters = loader.apply(List.copyOf(missingFilterIds));
+            return loadedFilters == null ? Map.of() : loadedFilters.stream()
+                .collect(Collectors.toMap(AbstractFilter::getId, Function.identity(), (filter1, filter2) -> filter1));
+        });
+    }
+
+    /**
+     * Removes the exports of the given contingency lists or filters, on any network, and the definitions of the filters
+     */
+    public void invalidate(Collection<UUID> uuids) {
+        Set<UUID> uuidsToInvalidate = new HashSet<>(uuids);
+        contingencyLists.asMap().keySet().removeIf(key -> uuidsToInvalidate.contains(key.uuid()));
+        filters.asMap().keySet().removeIf(key -> uuidsToInvalidate.contains(key.uuid()));
+        filterDefinitions.invalidateAll(uuidsToInvalidate);
+    }
+
+    /**
+     * Removes the exports made against any variant of the given network
+     */
+    public void invalidateNetwork(UUID networkUuid) {
+        contingencyLists.asMap().keySet().removeIf(key -> key.networkUuid().equals(networkUuid));
+        filters.asMap().keySet().removeIf(key -> key.networkUuid().equals(networkUuid));
+    }
+
+    public void invalidateAll() {
+        contingencyLists.invalidateAll();
+        filters.invalidateAll();
+        filterDefinitions.invalidateAll();
+    }
+
+    private static int size(Collection<?> collection) {
+        return collection == null ? 0 : collection.size();
+    }
+}
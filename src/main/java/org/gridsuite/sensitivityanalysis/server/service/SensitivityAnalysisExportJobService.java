@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.service;
+
+import org.gridsuite.sensitivityanalysis.server.dto.ExportJobInfos;
+import org.gridsuite.sensitivityanalysis.server.dto.ExportJobStatus;
+import org.gridsuite.sensitivityanalysis.server.entities.ExportJobEntity;
+import org.gridsuite.sensitivityanalysis.server.entities.ExportJobRecipientEmbeddable;
+import org.gridsuite.sensitivityanalysis.server.repositories.ExportJobRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the state of the export jobs in the database, so that any instance can answer for a job whichever instance
+ * runs it. None of the reads is read-only : a job state must not lag behind the commit of its completion.
+ */
+@Service
+public class SensitivityAnalysisExportJobService {
+
+    /**
+     * @param created true when the job has just been created and has to be run by the caller
+     */
+    public record SubmittedJob(ExportJobInfos infos, boolean created) {
+    }
+
+    private final ExportJobRepository exportJobRepository;
+
+    public SensitivityAnalysisExportJobService(ExportJobRepository exportJobRepository) {
+        this.exportJobRepository = exportJobRepository;
+    }
+
+    /**
+     * Creates a running job, or joins the job of an identical export when a request key is given
+     */
+    @Transactional
+    public SubmittedJob submit(UUID resultUuid, String requestKey, ExportJobRecipientEmbeddable recipient) {
+        if (requestKey != null) {
+            Optional<ExportJobEntity> existingJob = exportJobRepository.findByRequestKeyForUpdate(requestKey);
+            if (existingJob.isPresent() && existingJob.get().getStatus() != ExportJobStatus.FAILED) {
+                // recipients joining a finished job are not notified : the returned infos already tell it is completed
+                if (existingJob.get().getStatus() == ExportJobStatus.RUNNING) {
+                    existingJob.get().getRecipients().add(recipient);
+                }
+                return new SubmittedJob(existingJob.get().toInfos(), false);
+            }
+            existingJob.ifPresent(failedJob -> {
+                exportJobRepository.delete(failedJob);
+                exportJobRepository.flush();
+            });
+        }
+        ExportJobEntity job = new ExportJobEntity(UUID.randomUUID(), resultUuid, requestKey, Instant.now());
+        job.getRecipients().add(recipient);
+        exportJobRepository.saveAndFlush(job);
+        return new SubmittedJob(job.toInfos(), true);
+    }
+
+    @Transactional
+    public Optional<ExportJobInfos> getJob(UUID jobId) {
+        return exportJobRepository.findById(jobId).map(ExportJobEntity::toInfos);
+    }
+
+    /**
+     * @return the recipients to notify, empty if the job has been deleted meanwhile
+     */
+    @Transactional
+    public Optional<List<ExportJobRecipientEmbeddable>> finish(UUID jobId, ExportJobStatus status, Long fileSize) {
+        return exportJobRepository.findByIdForUpdate(jobId).map(job -> {
+            job.setStatus(status);
+            job.setFileSize(fileSize);
+            job.setCompletionDate(Instant.now());
+            return List.copyOf(job.getRecipients());
+        });
+    }
+
+    @Transactional
+    public boolean exists(UUID jobId) {
+        return exportJobRepository.existsById(jobId);
+    }
+
+    @Transactional
+    public void delete(UUID jobId) {
+        exportJobRepository.findById(jobId).ifPresent(exportJobRepository::delete);
+    }
+
+    /**
+     * @return the jobs of the given results, or all the jobs when null
+     */
+    @Transactional
+    public List<UUID> getJobIds(Collection<UUID> resultUuids) {
+        return resultUuids == null ? exportJobRepository.findAllIds() : exportJobRepository.findIdsByResultUuidIn(resultUuids);
+    }
+
+    @Transactional
+    public boolean isRecipient(UUID jobId, String userId) {
+        return exportJobRepository.existsRecipient(jobId, userId);
+    }
+
+    /**
+     * @param expirationDate the jobs completed before are expired
+     * @param lostDate the jobs created before and still running are considered lost
+     */
+    @Transactional
+    public List<UUID> getExpiredJobIds(Instant expirationDate, Instant lostDate) {
+        return exportJobRepository.findExpiredIds(expirationDate, lostDate);
+    }
+}
@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.sensitivityanalysis.server.dto.ExportJobInfos;
+import org.gridsuite.sensitivityanalysis.server.dto.ExportJobStatus;
+import org.gridsuite.sensitivityanalysis.server.entities.ExportJobRecipientEmbeddable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.gridsuite.computation.service.NotificationService.HEADER_USER_ID;
+
+/**
+ * Builds exports in the background into the export directory, so that large exports neither hold an http thread nor get
+ * lost when the client times out. Once completed, the file can be downloaded (with range requests) by the users it has
+ * been requested by, until it expires. Exports of a completed result identified by the same request key are immutable,
+ * so they share the same job. The job state is kept in the database : when several instances run, the export directory
+ * must be a storage shared by all of them for any instance to serve the files. Jobs expire the time to live after their
+ * completion, and a job still running after the max running time is considered lost (by a restart during the export
+ * for instance). Expired jobs and files left without job are purged at startup and then periodically.
+ */
+@Service
+public class SensitivityAnalysisExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SensitivityAnalysisExportService.class);
+
+    static final String PUBLISH_EXPORT_BINDING = "publishExport-out-0";
+    static final String HEADER_JOB_ID = "jobId";
+    static final String HEADER_RESULT_UUID = "resultUuid";
+    static final String HEADER_RECEIVER = "receiver";
+    static final String HEADER_STATUS = "status";
+
+    private static final String FILE_EXTENSION = ".zip";
+    private static final String PART_FILE_EXTENSION = ".zip.part";
+
+    @FunctionalInterface
+    public interface ExportWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    private final StreamBridge streamBridge;
+    private final SensitivityAnalysisExportJobService exportJobService;
+    private final Path exportDirectory;
+    private final Duration timeToLive;
+    private final Duration maxRunningTime;
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService purgeExecutorService;
+
+    public SensitivityAnalysisExportService(StreamBridge streamBridge,
+                                            SensitivityAnalysisExportJobService exportJobService,
+                                            @Value("${sensitivity-analysis.export.directory:${java.io.tmpdir}/sensitivity-analysis-exports}") Path exportDirectory,
+                                            @Value("${sensitivity-analysis.export.time-to-live:PT1H}") Duration timeToLive,
+                                            @Value("${sensitivity-analysis.export.max-running-time:PT6H}") Duration maxRunningTime,
+                                            @Value("${sensitivity-analysis.export.purge-period:PT5M}") Duration purgePeriod,
+                                            @Value("${sensitivity-analysis.export.threads:2}") int threads) {
+        this.streamBridge = streamBridge;
+        this.exportJobService = exportJobService;
+        this.exportDirectory = exportDirectory;
+        this.timeToLive = timeToLive;
+        this.maxRunningTime = maxRunningTime;
+        this.executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("sensitivity-export-%d")
+                .setDaemon(true)
+                .build());
+        this.purgeExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("sensitivity-export-purge-%d")
+                .setDaemon(true)
+                .build());
+        try {
+            Files.createDirectories(exportDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create the export directory " + exportDirectory, e);
+        }
+        purgeExecutorService.scheduleWithFixedDelay(this::purge, 0, purgePeriod.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutorService.shutdownNow();
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Starts an export in the background, or joins the job of an identical export when a request key is given.
+     * The request key must only be given when the export content is immutable (typically the result entity tag).
+     */
+    public ExportJobInfos submitExport(UUID resultUuid, String requestKey, ExportWriter exportWriter, String receiver, String userId) {
+        ExportJobRecipientEmbeddable recipient = new ExportJobRecipientEmbeddable(receiver, userId);
+        SensitivityAnalysisExportJobService.SubmittedJob submittedJob;
+        try {
+            submittedJob = exportJobService.submit(resultUuid, requestKey, recipient);
+        } catch (DataIntegrityViolationException e) {
+            // an identical export has just been submitted to another instance, join it
+            submittedJob = exportJobService.submit(resultUuid, requestKey, recipient);
+        }
+        if (submittedJob.created()) {
+            UUID jobId = submittedJob.infos().jobId();
+            executorService.execute(() -> runJob(jobId, resultUuid, exportWriter));
+        }
+        return submittedJob.infos();
+    }
+
+    public Optional<ExportJobInfos> getExportJob(UUID jobId) {
+        return exportJobService.getJob(jobId);
+    }
+
+    /**
+     * @return the exported file, empty if the job is unknown, not completed or has not been requested by the user
+     */
+    public Optional<Resource> getExportFile(UUID jobId, String userId) {
+        return getExportJob(jobId)
+                .filter(job -> job.status() == ExportJobStatus.COMPLETED)
+                .filter(job -> exportJobService.isRecipient(jobId, userId))
+                .map(job -> new FileSystemResource(getFile(jobId)));
+    }
+
+    public void deleteExportJob(UUID jobId) {
+        exportJobService.delete(jobId);
+        deleteQuietly(getFile(jobId));
+    }
+
+    /**
+     * Removes the exports of the given results, or of all the results when null
+     */
+    public void deleteExportJobs(List<UUID> resultUuids) {
+        if (resultUuids != null && resultUuids.isEmpty()) {
+            return;
+        }
+        exportJobService.getJobIds(resultUuids).forEach(this::deleteExportJob);
+    }
+
+    private void runJob(UUID jobId, UUID resultUuid, ExportWriter exportWriter) {
+        Path partFile = getPartFile(jobId);
+        Path file = getFile(jobId);
+        ExportJobStatus status;
+        Long fileSize = null;
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+                exportWriter.write(outputStream);
+            }
+            Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            status = ExportJobStatus.COMPLETED;
+            fileSize = Files.size(file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Export job {} of result {} failed", jobId, resultUuid, e);
+            deleteQuietly(partFile);
+            status = ExportJobStatus.FAILED;
+        }
+        Optional<List<ExportJobRecipientEmbeddable>> recipients = exportJobService.finish(jobId, status, fileSize);
+        if (recipients.isEmpty()) {
+            // deleted while running
+            deleteQuietly(file);
+            return;
+        }
+        ExportJobStatus finalStatus = status;
+        recipients.get().forEach(recipient -> sendExportMessage(jobId, resultUuid, finalStatus, recipient));
+    }
+
+    private void sendExportMessage(UUID jobId, UUID resultUuid, ExportJobStatus status, ExportJobRecipientEmbeddable recipient) {
+        streamBridge.send(PUBLISH_EXPORT_BINDING, MessageBuilder.withPayload("")
+                .setHeader(HEADER_JOB_ID, jobId.toString())
+                .setHeader(HEADER_RESULT_UUID, resultUuid.toString())
+                .setHeader(HEADER_STATUS, status.name())
+                .setHeader(HEADER_RECEIVER, recipient.getReceiver())
+                .setHeader(HEADER_USER_ID, recipient.getUserId())
+                .build());
+    }
+
+    /**
+     * Removes the expired jobs, then the files whose job does not exist anymore, and the other files of the directory
+     * (the entries of the csv archives being built for instance) once expired
+     */
+    public void purge() {
+        try {
+            Instant now = Instant.now();
+            Instant expirationDate = now.minus(timeToLive);
+            exportJobService.getExpiredJobIds(expirationDate, now.minus(maxRunningTime)).forEach(this::deleteExportJob);
+            try (Stream<Path> files = Files.list(exportDirectory)) {
+                files.filter(path -> getJobId(path).map(jobId -> !exportJobService.exists(jobId)).orElseGet(() -> isModifiedBefore(path, expirationDate)))
+                        .forEach(SensitivityAnalysisExportService::deleteQuietly);
+            }
+        } catch (IOException | RuntimeException e) {
+            // the purge must not stop being scheduled
+            LOGGER.warn("Unable to purge the export jobs", e);
+        }
+    }
+
+    private static boolean isModifiedBefore(Path path, Instant date) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(date);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Optional<UUID> getJobId(Path path) {
+        String fileName = path.getFileName().toString();
+        int extensionIndex = fileName.indexOf(FILE_EXTENSION);
+        if (extensionIndex < 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(fileName.substring(0, extensionIndex)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path getFile(UUID jobId) {
+        return exportDirectory.resolve(jobId + FILE_EXTENSION);
+    }
+
+    private Path getPartFile(UUID jobId) {
+        return exportDirectory.resolve(jobId + PART_FILE_EXTENSION);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete export file {}", path, e);
+        }
+    }
+}
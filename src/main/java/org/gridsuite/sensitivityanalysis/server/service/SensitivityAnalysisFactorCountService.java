@@ -6,6 +6,8 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.VariantManagerConstants;
 import org.apache.commons.collections4.CollectionUtils;
 import org.gridsuite.sensitivityanalysis.server.dto.*;
 import org.gridsuite.sensitivityanalysis.server.dto.parameters.FactorCount;
@@ -24,11 +26,17 @@ public class SensitivityAnalysisFactorCountService {
 
     private final ActionsService actionsService;
     private final FilterService filterService;
+    private final RemoteInputsCache remoteInputsCache;
+    private final NetworkCache networkCache;
 
     public SensitivityAnalysisFactorCountService(ActionsService actionsService,
-                                                 FilterService filterService) {
+                                                 FilterService filterService,
+                                                 RemoteInputsCache remoteInputsCache,
+                                                 NetworkCache networkCache) {
         this.actionsService = actionsService;
         this.filterService = filterService;
+        this.remoteInputsCache = remoteInputsCache;
+        this.networkCache = networkCache;
     }
 
     private record Factor(
@@ -88,6 +96,8 @@ public class SensitivityAnalysisFactorCountService {
         }
 
         return computeFactorCounts(
+            networkUuid,
+            variantId,
             factors,
             equipmentCounts.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().count())),
             contingencyCounts.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().count())));
@@ -172,11 +182,49 @@ public class SensitivityAnalysisFactorCountService {
             }
         }
 
-        return filterService.getIdentifiablesCountByGroup(
-                SensitivityFactorsIdsByGroup.builder().ids(identifiableIdsByKey).build(),
-                networkUuid,
-                variantId
-        );
+        // groups whose filters have all been exported recently are counted from the cache
+        Map<String, CountWithMissingUuids> counts = new HashMap<>();
+        Map<String, List<UUID>> identifiableIdsToCount = new HashMap<>();
+        identifiableIdsByKey.forEach((key, ids) -> getCachedIdentifiablesCount(ids, networkUuid, variantId)
+            .ifPresentOrElse(count -> counts.put(key, count), () -> identifiableIdsToCount.put(key, ids)));
+        if (!identifiableIdsToCount.isEmpty()) {
+            counts.putAll(filterService.getIdentifiablesCountByGroup(
+                    SensitivityFactorsIdsByGroup.builder().ids(identifiableIdsToCount).build(),
+                    networkUuid,
+                    variantId
+            ));
+        }
+        return counts;
+    }
+
+    private Optional<CountWithMissingUuids> getCachedIdentifiablesCount(List<UUID> filterIds, UUID networkUuid, String variantId) {
+        if (filterIds == null || filterIds.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<UUID, FilterEquipments> cachedFilters = remoteInputsCache.getFilters(filterIds, networkUuid, variantId);
+        if (!cachedFilters.keySet().containsAll(filterIds)) {
+            return Optional.empty();
+        }
+        long count = filterIds.stream().mapToLong(filterId -> cachedFilters.get(filterId).getIdentifiableAttributes().size()).sum();
+        return Optional.of(new CountWithMissingUuids(count, List.of()));
+    }
+
+    private Optional<CountWithMissingUuids> getCachedContingencyCount(List<UUID> contingencyListIds, UUID networkUuid, String variantId) {
+        long count = 0;
+        List<UUID> missingUuids = new ArrayList<>();
+        for (UUID contingencyListId : contingencyListIds) {
+            Optional<ContingencyListExportResult> contingencyList = remoteInputsCache.getContingencyList(contingencyListId, networkUuid, variantId);
+            if (contingencyList.isEmpty()) {
+                return Optional.empty();
+            }
+            if (contingencyList.get().getContingenciesFound() != null) {
+                count += contingencyList.get().getContingenciesFound().size();
+            }
+            if (contingencyList.get().getContingenciesNotFound() != null) {
+                missingUuids.addAll(contingencyList.get().getContingenciesNotFound());
+            }
+        }
+        return Optional.of(new CountWithMissingUuids(count, missingUuids));
     }
 
     private Map<String, CountWithMissingUuids> fetchContingencyCounts(List<Factor> factors, UUID networkUuid, String variantId) {
@@ -189,17 +237,55 @@ public class SensitivityAnalysisFactorCountService {
             }
         }
 
-        if (contingencyIdsByKey.isEmpty()) {
-            return Map.of();
+        Map<String, CountWithMissingUuids> counts = new HashMap<>();
+        Map<String, List<UUID>> contingencyIdsToCount = new HashMap<>();
+        contingencyIdsByKey.forEach((key, ids) -> getCachedContingencyCount(ids, networkUuid, variantId)
+            .ifPresentOrElse(count -> counts.put(key, count), () -> contingencyIdsToCount.put(key, ids)));
+        if (contingencyIdsToCount.isEmpty()) {
+            return counts;
         }
 
-        return actionsService.getContingencyCountByGroup(
-                SensitivityFactorsIdsByGroup.builder().ids(contingencyIdsByKey).build(),
+        counts.putAll(actionsService.getContingencyCountByGroup(
+                SensitivityFactorsIdsByGroup.builder().ids(contingencyIdsToCount).build(),
                 networkUuid,
-                variantId);
+                variantId));
+        return counts;
+    }
+
+    /**
+     * @return the number of buses or busbar sections of the monitored voltage levels, when their filters have been
+     * exported and their voltage levels expanded recently by this instance. The caches are local : until then, or on
+     * another instance, the count falls back to the estimate.
+     */
+    private OptionalLong getCachedBusCount(List<UUID> voltageLevelFilterIds, UUID networkUuid, String variantId) {
+        if (voltageLevelFilterIds == null || voltageLevelFilterIds.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        Map<UUID, FilterEquipments> cachedFilters = remoteInputsCache.getFilters(voltageLevelFilterIds, networkUuid, variantId);
+        if (!cachedFilters.keySet().containsAll(voltageLevelFilterIds)) {
+            return OptionalLong.empty();
+        }
+        String workingVariantId = variantId != null ? variantId : VariantManagerConstants.INITIAL_VARIANT_ID;
+        long count = 0;
+        for (UUID filterId : voltageLevelFilterIds) {
+            for (IdentifiableAttributes identifiable : cachedFilters.get(filterId).getIdentifiableAttributes()) {
+                if (identifiable.getType() != IdentifiableType.VOLTAGE_LEVEL) {
+                    count++;
+                    continue;
+                }
+                OptionalInt busCount = networkCache.getVoltageLevelBusCount(networkUuid, workingVariantId, identifiable.getId());
+                if (busCount.isEmpty()) {
+                    return OptionalLong.empty();
+                }
+                count += busCount.getAsInt();
+            }
+        }
+        return OptionalLong.of(count);
     }
 
     private FactorCount computeFactorCounts(
+            UUID networkUuid,
+            String variantId,
             List<Factor> factors,
             Map<String, Long> equipmentCounts,
             Map<String, Long> contingencyCounts
@@ -220,8 +306,10 @@ public class SensitivityAnalysisFactorCountService {
                 }
                 case NODES -> {
                     long variableCount = equipmentCounts.get(variablesKey(i));
-                    // Empirical factor: 2 BUS/BBS per node to avoid network traversal
-                    totalResultCount += monitoredEquipmentCount * variableCount * contingencyMultiplier * 2;
+                    // Empirical factor when the voltage levels have not been expanded yet: 2 BUS/BBS per node to avoid network traversal
+                    long monitoredBusCount = getCachedBusCount(factor.monitoredEquipmentIds(), networkUuid, variantId)
+                        .orElse(monitoredEquipmentCount * 2);
+                    totalResultCount += monitoredBusCount * variableCount * contingencyMultiplier;
                     totalVariableCount += variableCount;
                 }
                 default -> {
@@ -6,21 +6,34 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.commons.report.TypedValue;
 import com.powsybl.contingency.Contingency;
-import com.powsybl.contingency.ContingencyContext;
 import com.powsybl.iidm.network.*;
 import com.powsybl.sensitivity.*;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.gridsuite.filter.AbstractFilter;
 import org.gridsuite.sensitivityanalysis.server.dto.*;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -33,16 +46,230 @@ public class SensitivityAnalysisInputBuilderService {
     private static final Logger LOGGER = LoggerFactory.getLogger(SensitivityAnalysisInputBuilderService.class);
     private final ActionsService actionsService;
     private final FilterService filterService;
+    private final NetworkCache networkCache;
+    private final ExecutorService remoteInputsExecutor;
+    private final boolean localFilterEvaluation;
 
     private static final String ID = "id";
+    private static final int FILTERS_BATCH_SIZE = 100;
+
+    /**
+     * Contingency lists and filters of one build : the distinct ids of all the groups are requested concurrently before
+     * building the factors, then the groups are built one after another from those responses, so that the reports and
+     * the factors order do not depend on which request completes first.
+     * Filters are exported by batches, contingency lists one by one as their export does not tell the list of each
+     * contingency.
+     * Nothing is requested against the network of the run : the requests can be sent while it is loaded, only the
+     * build waits for it. With the local filter evaluation, the filter definitions are requested beforehand, then the
+     * filters are evaluated by the building thread against the network, which is not shared with the pool.
+     */
+    public final class RemoteInputs {
+        private final UUID networkUuid;
+        private final String variantId;
+        private final Set<UUID> contingencyListIds = new LinkedHashSet<>();
+        private final Set<UUID> filterIds = new LinkedHashSet<>();
+        private final Map<UUID, CompletableFuture<ContingencyListExportResult>> contingencyLists = new HashMap<>();
+        private final Map<UUID, CompletableFuture<List<IdentifiableAttributes>>> filters = new HashMap<>();
+        private final List<Pair<List<UUID>, CompletableFuture<Map<UUID, AbstractFilter>>>> filterDefinitionsBatches = new ArrayList<>();
+        private final List<Future<?>> tasks = new CopyOnWriteArrayList<>();
+        private final Map<String, List<IdentifiableAttributes>> voltageLevelBuses = new HashMap<>();
+        private final Map<Pair<List<UUID>, SensitivityAnalysisInputData.DistributionType>, List<SensitivityVariableSet>> variableSets = new HashMap<>();
+        private RuntimeException failure;
+        private int requestCount;
+
+        private RemoteInputs(UUID networkUuid, String variantId) {
+            this.networkUuid = networkUuid;
+            this.variantId = variantId;
+        }
+
+        private void addContingencyLists(List<UUID> ids) {
+            contingencyListIds.addAll(ids);
+        }
+
+        private void addFilters(List<UUID> ids) {
+            filterIds.addAll(ids);
+        }
+
+        private void fetch() {
+            contingencyListIds.forEach(id -> contingencyLists.put(id, submit(() -> actionsService.getContingencyList(List.of(id), networkUuid, variantId))));
+            requestCount += contingencyListIds.size();
+            Lists.partition(new ArrayList<>(filterIds), FILTERS_BATCH_SIZE).forEach(batch -> {
+                requestCount++;
+                if (localFilterEvaluation) {
+                    filterDefinitionsBatches.add(Pair.of(batch, submit(() -> filterService.getFilterDefinitions(batch))));
+                } else {
+                    putFilters(batch, submit(() -> getFilters(batch, ids -> filterService.getFilterEquipments(ids, networkUuid, variantId))));
+                }
+            });
+        }
+
+        /**
+         * Runs a request on the pool. The task is kept along with the future it completes, as cancelling a
+         * CompletableFuture does not interrupt the thread running it.
+         */
+        private <T> CompletableFuture<T> submit(Supplier<T> request) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            tasks.add(remoteInputsExecutor.submit(() -> {
+                try {
+                    future.complete(request.get());
+                } catch (Throwable e) {
+                    // whatever the failure, the build waiting for this input must not hang
+                    future.completeExceptionally(e);
+                }
+            }));
+            return future;
+        }
+
+        /**
+         * Completes the inputs which need the network, once loaded
+         */
+        private void resolve(Network network) {
+            if (failure != null) {
+                throw failure;
+            }
+            filterDefinitionsBatches.forEach(batch -> {
+                // a failed definitions request is made again, and reported, by the evaluation
+                batch.getRight().exceptionally(e -> null).join();
+                putFilters(batch.getLeft(), CompletableFuture.completedFuture(getFilters(batch.getLeft(), ids -> filterService.evaluateFilters(ids, network))));
+            });
+            filterDefinitionsBatches.clear();
+        }
 
-    public SensitivityAnalysisInputBuilderService(ActionsService actionsService, FilterService filterService) {
+        /**
+         * A voltage level monitored by several groups is expanded once per build, and once per variant when cached
+         */
+        private List<IdentifiableAttributes> getVoltageLevelBuses(Network network, String voltageLevelId) {
+            List<IdentifiableAttributes> buses = voltageLevelBuses.get(voltageLevelId);
+            if (buses == null) {
+                buses = networkCache.getVoltageLevelBuses(networkUuid, network.getVariantManager().getWorkingVariantId(), voltageLevelId,
+                    () -> expandVoltageLevel(network, voltageLevelId));
+                voltageLevelBuses.put(voltageLevelId, buses);
+            }
+            return buses;
+        }
+
+        /**
+         * The injections sets with the same filters, in any order, and the same distribution type share their variable
+         * sets, so that the provider computes each of them once
+         */
+        private List<SensitivityVariableSet> getVariableSets(List<UUID> filterIds, SensitivityAnalysisInputData.DistributionType distributionType,
+                                                             Supplier<List<SensitivityVariableSet>> builder) {
+            Pair<List<UUID>, SensitivityAnalysisInputData.DistributionType> key = Pair.of(filterIds.stream().distinct().sorted().toList(), distributionType);
+            List<SensitivityVariableSet> sets = variableSets.get(key);
+            if (sets == null) {
+                sets = builder.get();
+                variableSets.put(key, sets);
+            }
+            return sets;
+        }
+
+        private void putFilters(List<UUID> ids, CompletableFuture<Map<UUID, CompletableFuture<List<IdentifiableAttributes>>>> batchFuture) {
+            ids.forEach(id -> filters.put(id, batchFuture.thenCompose(identifiablesByFilter -> identifiablesByFilter.get(id))));
+        }
+
+        /**
+         * One failing filter fails the request of its whole batch : the filters of a failed batch are requested again
+         * one by one, so that the error is only reported for the groups needing the failing ones, when they are built
+         */
+        private static Map<UUID, CompletableFuture<List<IdentifiableAttributes>>> getFilters(List<UUID> ids, Function<List<UUID>, List<FilterEquipments>> request) {
+            Map<UUID, CompletableFuture<List<IdentifiableAttributes>>> identifiablesByFilter = new HashMap<>();
+            try {
+                Map<UUID, List<IdentifiableAttributes>> batchIdentifiables = getIdentifiablesByFilter(request.apply(ids));
+                ids.forEach(id -> identifiablesByFilter.put(id, CompletableFuture.completedFuture(batchIdentifiables.getOrDefault(id, List.of()))));
+            } catch (RuntimeException e) {
+                if (ids.size() == 1 || Thread.currentThread().isInterrupted()) {
+                    ids.forEach(id -> identifiablesByFilter.put(id, CompletableFuture.failedFuture(e)));
+                } else {
+                    ids.forEach(id -> identifiablesByFilter.putAll(getFilters(List.of(id), request)));
+                }
+            }
+            return identifiablesByFilter;
+        }
+
+        private static Map<UUID, List<IdentifiableAttributes>> getIdentifiablesByFilter(List<FilterEquipments> filtersEquipments) {
+            Map<UUID, List<IdentifiableAttributes>> identifiablesByFilter = new HashMap<>();
+            filtersEquipments.forEach(filterEquipments -> {
+                if (filterEquipments.getIdentifiableAttributes() != null) {
+                    identifiablesByFilter.put(filterEquipments.getFilterId(), filterEquipments.getIdentifiableAttributes());
+                }
+            });
+            return identifiablesByFilter;
+        }
+
+        private ContingencyListExportResult getContingencyList(List<UUID> ids) {
+            List<Contingency> contingenciesFound = new ArrayList<>();
+            List<UUID> contingenciesNotFound = new ArrayList<>();
+            ids.forEach(id -> {
+                ContingencyListExportResult contingencyList = join(contingencyLists.get(id));
+                if (contingencyList != null) {
+                    if (contingencyList.getContingenciesFound() != null) {
+                        contingenciesFound.addAll(contingencyList.getContingenciesFound());
+                    }
+                    if (contingencyList.getContingenciesNotFound() != null) {
+                        contingenciesNotFound.addAll(contingencyList.getContingenciesNotFound());
+                    }
+                }
+            });
+            return new ContingencyListExportResult(contingenciesFound, contingenciesNotFound);
+        }
+
+        private List<IdentifiableAttributes> getIdentifiables(List<UUID> ids) {
+            List<IdentifiableAttributes> identifiables = new ArrayList<>();
+            ids.forEach(id -> identifiables.addAll(join(filters.get(id))));
+            return identifiables;
+        }
+
+        /**
+         * @return the number of requests sent to the actions and filter servers, at most : some may be served by their caches
+         */
+        public int getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * Stops the pending requests, when the run will not be built
+         */
+        public void cancel() {
+            // interrupts the running requests and drops the queued ones, which will then never complete their futures
+            tasks.forEach(task -> task.cancel(true));
+            contingencyLists.values().forEach(future -> future.cancel(false));
+            filters.values().forEach(future -> future.cancel(false));
+            filterDefinitionsBatches.forEach(batch -> batch.getRight().cancel(false));
+        }
+
+        private static <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                // rethrow the exception of the remote call, as if it had been made by the calling thread
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+    }
+
+    public SensitivityAnalysisInputBuilderService(ActionsService actionsService, FilterService filterService, NetworkCache networkCache,
+                                                  @Value("${sensitivity-analysis.input-building.threads:8}") int remoteInputsThreads,
+                                                  @Value("${sensitivity-analysis.input-building.local-filter-evaluation:false}") boolean localFilterEvaluation) {
         this.actionsService = actionsService;
         this.filterService = filterService;
+        this.networkCache = networkCache;
+        this.localFilterEvaluation = localFilterEvaluation;
+        this.remoteInputsExecutor = Executors.newFixedThreadPool(remoteInputsThreads, new ThreadFactoryBuilder()
+                .setNameFormat("sensitivity-inputs-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        remoteInputsExecutor.shutdownNow();
     }
 
-    private List<Contingency> goGetContingencies(List<UUID> contingencyListIds, UUID networkUuid, String variantId, ReportNode reporter) {
-        ContingencyListExportResult contingencies = actionsService.getContingencyList(contingencyListIds, networkUuid, variantId);
+    private List<Contingency> goGetContingencies(List<UUID> contingencyListIds, RemoteInputs remoteInputs, ReportNode reporter) {
+        ContingencyListExportResult contingencies = remoteInputs.getContingencyList(contingencyListIds);
         if (contingencies == null) {
             return List.of();
         }
@@ -58,8 +285,8 @@ public class SensitivityAnalysisInputBuilderService {
         return contingencies.getContingenciesFound() == null ? List.of() : contingencies.getContingenciesFound();
     }
 
-    private List<Contingency> buildContingencies(UUID networkUuid, String variantId, List<UUID> contingencyListIds, ReportNode reporter) {
-        return goGetContingencies(contingencyListIds, networkUuid, variantId, reporter);
+    private List<Contingency> buildContingencies(RemoteInputs remoteInputs, List<UUID> contingencyListIds, ReportNode reporter) {
+        return goGetContingencies(contingencyListIds, remoteInputs, reporter);
     }
 
     private double getGeneratorWeight(Generator generator, SensitivityAnalysisInputData.DistributionType distributionType, Double distributionKey) {
@@ -97,11 +324,11 @@ public class SensitivityAnalysisInputBuilderService {
         }
     }
 
-    private List<IdentifiableAttributes> goGetIdentifiables(List<UUID> filterIds, UUID networkUuid, String variantId, ReportNode reporter) {
+    private List<IdentifiableAttributes> goGetIdentifiables(List<UUID> filterIds, RemoteInputs remoteInputs, ReportNode reporter) {
         String idsString = joinToStringIds(filterIds);
         try {
             //extract container id from filters
-            return filterService.getIdentifiablesFromFilters(filterIds, networkUuid, variantId);
+            return remoteInputs.getIdentifiables(filterIds);
         } catch (Exception ex) {
             LOGGER.error("Could not get identifiables from filter " + idsString, ex);
             reporter.newReportNode()
@@ -114,10 +341,10 @@ public class SensitivityAnalysisInputBuilderService {
         }
     }
 
-    private Stream<IdentifiableAttributes> getIdentifiables(SensitivityAnalysisRunContext context, List<UUID> filterIds,
+    private Stream<IdentifiableAttributes> getIdentifiables(RemoteInputs remoteInputs, List<UUID> filterIds,
                                                                           List<IdentifiableType> equipmentsTypesAllowed, ReportNode reporter) {
         String idsString = joinToStringIds(filterIds);
-        List<IdentifiableAttributes> listIdentifiableAttributes = goGetIdentifiables(filterIds, context.getNetworkUuid(), context.getVariantId(), reporter);
+        List<IdentifiableAttributes> listIdentifiableAttributes = goGetIdentifiables(filterIds, remoteInputs, reporter);
 
         // check that monitored equipments type is allowed
         if (!listIdentifiableAttributes.stream().allMatch(i -> equipmentsTypesAllowed.contains(i.getType()))) {
@@ -137,9 +364,9 @@ public class SensitivityAnalysisInputBuilderService {
         return "[" + filterIds.stream().map(UUID::toString).collect(Collectors.joining(", ")) + "]";
     }
 
-    private Stream<IdentifiableAttributes> getMonitoredIdentifiables(SensitivityAnalysisRunContext context, Network network, List<UUID> filterIds, List<IdentifiableType> equipmentsTypesAllowed, ReportNode reporter) {
+    private Stream<IdentifiableAttributes> getMonitoredIdentifiables(RemoteInputs remoteInputs, Network network, List<UUID> filterIds, List<IdentifiableType> equipmentsTypesAllowed, ReportNode reporter) {
         String idsString = joinToStringIds(filterIds);
-        List<IdentifiableAttributes> listIdentAttributes = goGetIdentifiables(filterIds, context.getNetworkUuid(), context.getVariantId(), reporter);
+        List<IdentifiableAttributes> listIdentAttributes = goGetIdentifiables(filterIds, remoteInputs, reporter);
 
         // check that monitored equipments type is allowed
         if (!listIdentAttributes.stream().allMatch(i -> equipmentsTypesAllowed.contains(i.getType()))) {
@@ -157,59 +384,50 @@ public class SensitivityAnalysisInputBuilderService {
         }
 
         // for voltage levels, get the list of all buses or busbar sections
-        return listIdentAttributes.stream().flatMap(voltageLevel -> {
-            VoltageLevel vl = network.getVoltageLevel(voltageLevel.getId());
-            if (vl == null) {
-                throw new PowsyblException("Voltage level '" + voltageLevel.getId() + "' not found !!");
-            }
-            return vl.getTopologyKind() == TopologyKind.NODE_BREAKER ?
-                vl.getNodeBreakerView().getBusbarSectionStream().filter(bbs -> bbs.getTerminal().getBusView().getBus() != null).map(bbs -> new IdentifiableAttributes(bbs.getId(), bbs.getType(), null)) :
-                vl.getBusBreakerView().getBusStream().filter(bus -> bus.getConnectedTerminalStream().map(t -> t.getBusView().getBus()).anyMatch(Objects::nonNull)).map(bus -> new IdentifiableAttributes(bus.getId(), bus.getType(), null));
-        });
+        return listIdentAttributes.stream().flatMap(voltageLevel -> remoteInputs.getVoltageLevelBuses(network, voltageLevel.getId()).stream());
+    }
+
+    private static List<IdentifiableAttributes> expandVoltageLevel(Network network, String voltageLevelId) {
+        VoltageLevel vl = network.getVoltageLevel(voltageLevelId);
+        if (vl == null) {
+            throw new PowsyblException("Voltage level '" + voltageLevelId + "' not found !!");
+        }
+        return vl.getTopologyKind() == TopologyKind.NODE_BREAKER ?
+            vl.getNodeBreakerView().getBusbarSectionStream().filter(bbs -> bbs.getTerminal().getBusView().getBus() != null).map(bbs -> new IdentifiableAttributes(bbs.getId(), bbs.getType(), null)).toList() :
+            vl.getBusBreakerView().getBusStream().filter(bus -> bus.getConnectedTerminalStream().map(t -> t.getBusView().getBus()).anyMatch(Objects::nonNull)).map(bus -> new IdentifiableAttributes(bus.getId(), bus.getType(), null)).toList();
     }
 
-    private List<List<SensitivityFactor>> getSensitivityFactorsFromEquipments(List<String> variableIds,
-                                                                              List<IdentifiableAttributes> monitoredEquipments,
-                                                                              List<Contingency> contingencies,
-                                                                              SensitivityFunctionType sensitivityFunctionType,
-                                                                              SensitivityVariableType sensitivityVariableType,
-                                                                              boolean variableSet) {
-        return monitoredEquipments
-            .stream()
-            .flatMap(monitoredEquipment -> variableIds
-                .stream()
-                .map(varId -> {
-                    List<SensitivityFactor> factors = new ArrayList<>(contingencies.size() + 1);
-                    factors.add(new SensitivityFactor(
-                        sensitivityFunctionType,
-                        monitoredEquipment.getId(),
-                        sensitivityVariableType,
-                        varId,
-                        variableSet,
-                        ContingencyContext.none())
-                    );
-
-                    // if contingencies are given: creation, for each monitored equipment, of one sensitivity factor for each contingency
-                    contingencies.forEach(contingency ->
-                        factors.add(new SensitivityFactor(
-                            sensitivityFunctionType,
-                            monitoredEquipment.getId(),
-                            sensitivityVariableType,
-                            varId,
-                            variableSet,
-                            ContingencyContext.specificContingency(contingency.getId())))
-                    );
-                    return factors;
-                }))
-            .toList();
+    private SensitivityFactorsGroup getSensitivityFactorsFromEquipments(List<String> variableIds,
+                                                                  List<IdentifiableAttributes> monitoredEquipments,
+                                                                  List<Contingency> contingencies,
+                                                                  SensitivityFunctionType sensitivityFunctionType,
+                                                                  SensitivityVariableType sensitivityVariableType,
+                                                                  boolean variableSet) {
+        // the factors are generated while the analysis reads them : for each monitored equipment and each variable,
+        // the pre-contingency factor then, if contingencies are given, one factor for each contingency
+        return new SensitivityFactorsGroup(
+            sensitivityFunctionType,
+            monitoredEquipments.stream().map(IdentifiableAttributes::getId).toList(),
+            sensitivityVariableType,
+            variableIds,
+            variableSet,
+            contingencies.stream().map(Contingency::getId).toList());
     }
 
-    private List<SensitivityVariableSet> buildSensitivityVariableSets(SensitivityAnalysisRunContext context, Network network, ReportNode reporter,
+    private List<SensitivityVariableSet> buildSensitivityVariableSets(RemoteInputs remoteInputs, Network network, ReportNode reporter,
                                                                       List<IdentifiableType> variablesTypesAllowed,
                                                                       List<UUID> filterIds,
                                                                       SensitivityAnalysisInputData.DistributionType distributionType) {
+        return remoteInputs.getVariableSets(filterIds, distributionType,
+            () -> createSensitivityVariableSets(remoteInputs, network, reporter, variablesTypesAllowed, filterIds, distributionType));
+    }
+
+    private List<SensitivityVariableSet> createSensitivityVariableSets(RemoteInputs remoteInputs, Network network, ReportNode reporter,
+                                                                       List<IdentifiableType> variablesTypesAllowed,
+                                                                       List<UUID> filterIds,
+                                                                       SensitivityAnalysisInputData.DistributionType distributionType) {
         List<SensitivityVariableSet> result = new ArrayList<>();
-        List<IdentifiableAttributes> monitoredVariablesLists = getIdentifiables(context, filterIds, variablesTypesAllowed, reporter)
+        List<IdentifiableAttributes> monitoredVariablesLists = getIdentifiables(remoteInputs, filterIds, variablesTypesAllowed, reporter)
                 .toList();
         String idsString = joinToStringIds(filterIds);
         Stream<Pair<String, List<IdentifiableAttributes>>> variablesLists = Stream.of(Pair.of(idsString, monitoredVariablesLists))
@@ -263,7 +481,7 @@ public class SensitivityAnalysisInputBuilderService {
         return result;
     }
 
-    private List<List<SensitivityFactor>> buildSensitivityFactorsFromVariablesSets(SensitivityAnalysisRunContext context,
+    private Optional<SensitivityFactorsGroup> buildSensitivityFactorsFromVariablesSets(RemoteInputs remoteInputs,
                                                                                    Network network, ReportNode reporter,
                                                                                    List<IdentifiableType> monitoredEquipmentsTypesAllowed,
                                                                                    List<UUID> monitoredEquipmentIds,
@@ -272,16 +490,16 @@ public class SensitivityAnalysisInputBuilderService {
                                                                                    SensitivityFunctionType sensitivityFunctionType,
                                                                                    SensitivityVariableType sensitivityVariableType) {
         if (variablesSets.isEmpty()) {
-            return List.of();
+            return Optional.empty();
         }
 
-        List<IdentifiableAttributes> monitoredEquipments = getMonitoredIdentifiables(context, network, monitoredEquipmentIds, monitoredEquipmentsTypesAllowed, reporter).collect(Collectors.toList());
+        List<IdentifiableAttributes> monitoredEquipments = getMonitoredIdentifiables(remoteInputs, network, monitoredEquipmentIds, monitoredEquipmentsTypesAllowed, reporter).collect(Collectors.toList());
 
-        return getSensitivityFactorsFromEquipments(variablesSets.stream().map(SensitivityVariableSet::getId).collect(Collectors.toList()),
-            monitoredEquipments, contingencies, sensitivityFunctionType, sensitivityVariableType, true);
+        return Optional.of(getSensitivityFactorsFromEquipments(variablesSets.stream().map(SensitivityVariableSet::getId).collect(Collectors.toList()),
+            monitoredEquipments, contingencies, sensitivityFunctionType, sensitivityVariableType, true));
     }
 
-    private List<List<SensitivityFactor>> buildSensitivityFactorsFromEquipments(SensitivityAnalysisRunContext context,
+    private Optional<SensitivityFactorsGroup> buildSensitivityFactorsFromEquipments(RemoteInputs remoteInputs,
                                                                                 Network network, ReportNode reporter,
                                                                                 List<IdentifiableType> monitoredEquipmentsTypesAllowed,
                                                                                 List<UUID> monitoredEquipmentIds,
@@ -291,28 +509,28 @@ public class SensitivityAnalysisInputBuilderService {
                                                                                 SensitivityFunctionType sensitivityFunctionType,
                                                                                 SensitivityVariableType sensitivityVariableType) {
 
-        List<IdentifiableAttributes> equipments = getIdentifiables(context, filterIds, equipmentsTypesAllowed, reporter).toList();
+        List<IdentifiableAttributes> equipments = getIdentifiables(remoteInputs, filterIds, equipmentsTypesAllowed, reporter).toList();
 
         if (equipments.isEmpty()) {
-            return List.of();
+            return Optional.empty();
         }
-        List<IdentifiableAttributes> monitoredEquipments = getMonitoredIdentifiables(context, network, monitoredEquipmentIds, monitoredEquipmentsTypesAllowed, reporter).toList();
+        List<IdentifiableAttributes> monitoredEquipments = getMonitoredIdentifiables(remoteInputs, network, monitoredEquipmentIds, monitoredEquipmentsTypesAllowed, reporter).toList();
 
-        return getSensitivityFactorsFromEquipments(equipments.stream().map(IdentifiableAttributes::getId).collect(Collectors.toList()),
-                monitoredEquipments, contingencies, sensitivityFunctionType, sensitivityVariableType, false);
+        return Optional.of(getSensitivityFactorsFromEquipments(equipments.stream().map(IdentifiableAttributes::getId).collect(Collectors.toList()),
+                monitoredEquipments, contingencies, sensitivityFunctionType, sensitivityVariableType, false));
     }
 
-    private void buildSensitivityInjectionsSets(SensitivityAnalysisRunContext context, Network network, ReportNode reporter) {
+    private void buildSensitivityInjectionsSets(SensitivityAnalysisRunContext context, RemoteInputs remoteInputs, Network network, ReportNode reporter) {
         List<SensitivityInjectionsSet> sensitivityInjectionsSets = context.getSensitivityAnalysisInputData().getSensitivityInjectionsSets();
         sensitivityInjectionsSets.forEach(sensitivityInjectionsSet -> {
-            List<Contingency> cInjectionsSet = buildContingencies(context.getNetworkUuid(), context.getVariantId(), sensitivityInjectionsSet.getContingencies(), reporter);
-            List<SensitivityVariableSet> vInjectionsSets = buildSensitivityVariableSets(context,
+            List<Contingency> cInjectionsSet = buildContingencies(remoteInputs, sensitivityInjectionsSet.getContingencies(), reporter);
+            List<SensitivityVariableSet> vInjectionsSets = buildSensitivityVariableSets(remoteInputs,
                 network, reporter,
                 List.of(IdentifiableType.GENERATOR, IdentifiableType.LOAD),
                 sensitivityInjectionsSet.getInjections(),
                 sensitivityInjectionsSet.getDistributionType());
-            List<List<SensitivityFactor>> fInjectionsSet = buildSensitivityFactorsFromVariablesSets(
-                context, network, reporter,
+            Optional<SensitivityFactorsGroup> fInjectionsSet = buildSensitivityFactorsFromVariablesSets(
+                remoteInputs, network, reporter,
                 List.of(IdentifiableType.LINE, IdentifiableType.TWO_WINDINGS_TRANSFORMER),
                 sensitivityInjectionsSet.getMonitoredBranches(),
                 vInjectionsSets,
@@ -322,16 +540,16 @@ public class SensitivityAnalysisInputBuilderService {
 
             context.getSensitivityAnalysisInputs().addContingencies(cInjectionsSet);
             context.getSensitivityAnalysisInputs().addSensitivityVariableSets(vInjectionsSets);
-            context.getSensitivityAnalysisInputs().addSensitivityFactors(fInjectionsSet);
+            fInjectionsSet.ifPresent(context.getSensitivityAnalysisInputs()::addSensitivityFactorsGroup);
         });
     }
 
-    private void buildSensitivityInjections(SensitivityAnalysisRunContext context, Network network, ReportNode reporter) {
+    private void buildSensitivityInjections(SensitivityAnalysisRunContext context, RemoteInputs remoteInputs, Network network, ReportNode reporter) {
         List<SensitivityInjection> sensitivityInjections = context.getSensitivityAnalysisInputData().getSensitivityInjections();
         sensitivityInjections.forEach(sensitivityInjection -> {
-            List<Contingency> cInjections = buildContingencies(context.getNetworkUuid(), context.getVariantId(), sensitivityInjection.getContingencies(), reporter);
-            List<List<SensitivityFactor>> fInjections = buildSensitivityFactorsFromEquipments(
-                context, network, reporter,
+            List<Contingency> cInjections = buildContingencies(remoteInputs, sensitivityInjection.getContingencies(), reporter);
+            Optional<SensitivityFactorsGroup> fInjections = buildSensitivityFactorsFromEquipments(
+                remoteInputs, network, reporter,
                 List.of(IdentifiableType.LINE, IdentifiableType.TWO_WINDINGS_TRANSFORMER),
                 sensitivityInjection.getMonitoredBranches(),
                 List.of(IdentifiableType.GENERATOR, IdentifiableType.LOAD),
@@ -341,20 +559,20 @@ public class SensitivityAnalysisInputBuilderService {
                 SensitivityVariableType.INJECTION_ACTIVE_POWER);
 
             context.getSensitivityAnalysisInputs().addContingencies(cInjections);
-            context.getSensitivityAnalysisInputs().addSensitivityFactors(fInjections);
+            fInjections.ifPresent(context.getSensitivityAnalysisInputs()::addSensitivityFactorsGroup);
         });
     }
 
-    private void buildSensitivityHVDCs(SensitivityAnalysisRunContext context, Network network, ReportNode reporter) {
+    private void buildSensitivityHVDCs(SensitivityAnalysisRunContext context, RemoteInputs remoteInputs, Network network, ReportNode reporter) {
         List<SensitivityHVDC> sensitivityHVDCs = context.getSensitivityAnalysisInputData().getSensitivityHVDCs();
         sensitivityHVDCs.forEach(sensitivityHVDC -> {
-            List<Contingency> cHVDC = buildContingencies(context.getNetworkUuid(), context.getVariantId(), sensitivityHVDC.getContingencies(), reporter);
+            List<Contingency> cHVDC = buildContingencies(remoteInputs, sensitivityHVDC.getContingencies(), reporter);
             SensitivityFunctionType sensitivityFunctionType = sensitivityHVDC.getSensitivityType() == SensitivityAnalysisInputData.SensitivityType.DELTA_MW
                 ? SensitivityFunctionType.BRANCH_ACTIVE_POWER_1
                 : SensitivityFunctionType.BRANCH_CURRENT_1;
 
-            List<List<SensitivityFactor>> fHVDC = buildSensitivityFactorsFromEquipments(
-                context, network, reporter,
+            Optional<SensitivityFactorsGroup> fHVDC = buildSensitivityFactorsFromEquipments(
+                remoteInputs, network, reporter,
                 List.of(IdentifiableType.LINE, IdentifiableType.TWO_WINDINGS_TRANSFORMER),
                 sensitivityHVDC.getMonitoredBranches(),
                 List.of(IdentifiableType.HVDC_LINE),
@@ -364,16 +582,16 @@ public class SensitivityAnalysisInputBuilderService {
                 SensitivityVariableType.HVDC_LINE_ACTIVE_POWER);
 
             context.getSensitivityAnalysisInputs().addContingencies(cHVDC);
-            context.getSensitivityAnalysisInputs().addSensitivityFactors(fHVDC);
+            fHVDC.ifPresent(context.getSensitivityAnalysisInputs()::addSensitivityFactorsGroup);
         });
     }
 
-    private void buildSensitivityPSTs(SensitivityAnalysisRunContext context, Network network, ReportNode reporter) {
+    private void buildSensitivityPSTs(SensitivityAnalysisRunContext context, RemoteInputs remoteInputs, Network network, ReportNode reporter) {
         List<SensitivityPST> sensitivityPSTs = context.getSensitivityAnalysisInputData().getSensitivityPSTs();
         sensitivityPSTs.forEach(sensitivityPST -> {
-            List<Contingency> cPST = buildContingencies(context.getNetworkUuid(), context.getVariantId(), sensitivityPST.getContingencies(), reporter);
-            List<List<SensitivityFactor>> fPST = buildSensitivityFactorsFromEquipments(
-                context, network, reporter,
+            List<Contingency> cPST = buildContingencies(remoteInputs, sensitivityPST.getContingencies(), reporter);
+            Optional<SensitivityFactorsGroup> fPST = buildSensitivityFactorsFromEquipments(
+                remoteInputs, network, reporter,
                 List.of(IdentifiableType.LINE, IdentifiableType.TWO_WINDINGS_TRANSFORMER),
                 sensitivityPST.getMonitoredBranches(),
                 List.of(IdentifiableType.TWO_WINDINGS_TRANSFORMER),
@@ -385,11 +603,11 @@ public class SensitivityAnalysisInputBuilderService {
                 SensitivityVariableType.TRANSFORMER_PHASE);
 
             context.getSensitivityAnalysisInputs().addContingencies(cPST);
-            context.getSensitivityAnalysisInputs().addSensitivityFactors(fPST);
+            fPST.ifPresent(context.getSensitivityAnalysisInputs()::addSensitivityFactorsGroup);
         });
     }
 
-    private void buildSensitivityNodes(SensitivityAnalysisRunContext context, Network network, ReportNode reporter) {
+    private void buildSensitivityNodes(SensitivityAnalysisRunContext context, RemoteInputs remoteInputs, Network network, ReportNode reporter) {
         List<SensitivityNodes> sensitivityNodes = context.getSensitivityAnalysisInputData().getSensitivityNodes();
         // TODO: nodes sensitivity is only available with OpenLoadFlow
         // check to be removed further ...
@@ -401,9 +619,9 @@ public class SensitivityAnalysisInputBuilderService {
             return;
         }
         sensitivityNodes.forEach(sensitivityNode -> {
-            List<Contingency> cNodes = buildContingencies(context.getNetworkUuid(), context.getVariantId(), sensitivityNode.getContingencies(), reporter);
-            List<List<SensitivityFactor>> fNodes = buildSensitivityFactorsFromEquipments(
-                context, network, reporter,
+            List<Contingency> cNodes = buildContingencies(remoteInputs, sensitivityNode.getContingencies(), reporter);
+            Optional<SensitivityFactorsGroup> fNodes = buildSensitivityFactorsFromEquipments(
+                remoteInputs, network, reporter,
                 List.of(IdentifiableType.VOLTAGE_LEVEL),
                 sensitivityNode.getMonitoredVoltageLevels(),
                 List.of(IdentifiableType.GENERATOR, IdentifiableType.TWO_WINDINGS_TRANSFORMER,
@@ -414,18 +632,75 @@ public class SensitivityAnalysisInputBuilderService {
                 SensitivityVariableType.BUS_TARGET_VOLTAGE);
 
             context.getSensitivityAnalysisInputs().addContingencies(cNodes);
-            context.getSensitivityAnalysisInputs().addSensitivityFactors(fNodes);
+            fNodes.ifPresent(context.getSensitivityAnalysisInputs()::addSensitivityFactorsGroup);
         });
     }
 
+    /**
+     * Starts requesting the contingency lists and filters of the run, without waiting for its network.
+     * A failure is not thrown but reported by the build using those inputs.
+     */
+    public RemoteInputs fetchRemoteInputs(SensitivityAnalysisRunContext context) {
+        RemoteInputs remoteInputs = new RemoteInputs(context.getNetworkUuid(), context.getVariantId());
+        try {
+            addRemoteInputs(context, remoteInputs);
+            remoteInputs.fetch();
+        } catch (RuntimeException e) {
+            remoteInputs.cancel();
+            remoteInputs.failure = e;
+        }
+        return remoteInputs;
+    }
+
+    private void addRemoteInputs(SensitivityAnalysisRunContext context, RemoteInputs remoteInputs) {
+        SensitivityAnalysisInputData inputData = context.getSensitivityAnalysisInputData();
+        inputData.getSensitivityInjectionsSets().forEach(injectionsSet -> {
+            remoteInputs.addContingencyLists(injectionsSet.getContingencies());
+            remoteInputs.addFilters(injectionsSet.getInjections());
+            remoteInputs.addFilters(injectionsSet.getMonitoredBranches());
+        });
+        inputData.getSensitivityInjections().forEach(injection -> {
+            remoteInputs.addContingencyLists(injection.getContingencies());
+            remoteInputs.addFilters(injection.getInjections());
+            remoteInputs.addFilters(injection.getMonitoredBranches());
+        });
+        inputData.getSensitivityHVDCs().forEach(hvdc -> {
+            remoteInputs.addContingencyLists(hvdc.getContingencies());
+            remoteInputs.addFilters(hvdc.getHvdcs());
+            remoteInputs.addFilters(hvdc.getMonitoredBranches());
+        });
+        inputData.getSensitivityPSTs().forEach(pst -> {
+            remoteInputs.addContingencyLists(pst.getContingencies());
+            remoteInputs.addFilters(pst.getPsts());
+            remoteInputs.addFilters(pst.getMonitoredBranches());
+        });
+        if (StringUtils.equals("OpenLoadFlow", context.getProvider())) {
+            inputData.getSensitivityNodes().forEach(nodes -> {
+                remoteInputs.addContingencyLists(nodes.getContingencies());
+                remoteInputs.addFilters(nodes.getEquipmentsInVoltageRegulation());
+                remoteInputs.addFilters(nodes.getMonitoredVoltageLevels());
+            });
+        }
+    }
+
     public void build(SensitivityAnalysisRunContext context, Network network, ReportNode reporter) {
+        build(context, fetchRemoteInputs(context), network, reporter);
+    }
+
+    /**
+     * Builds the inputs of the run from the contingency lists and filters already requested by
+     * {@link #fetchRemoteInputs(SensitivityAnalysisRunContext)}
+     */
+    public void build(SensitivityAnalysisRunContext context, RemoteInputs remoteInputs, Network network, ReportNode reporter) {
         try {
-            buildSensitivityInjectionsSets(context, network, reporter);
-            buildSensitivityInjections(context, network, reporter);
-            buildSensitivityHVDCs(context, network, reporter);
-            buildSensitivityPSTs(context, network, reporter);
-            buildSensitivityNodes(context, network, reporter);
+            remoteInputs.resolve(network);
+            buildSensitivityInjectionsSets(context, remoteInputs, network, reporter);
+            buildSensitivityInjections(context, remoteInputs, network, reporter);
+            buildSensitivityHVDCs(context, remoteInputs, network, reporter);
+            buildSensitivityPSTs(context, remoteInputs, network, reporter);
+            buildSensitivityNodes(context, remoteInputs, network, reporter);
         } catch (Exception ex) {
+            remoteInputs.cancel();
             String msg = ex.getMessage();
             if (msg == null) {
                 msg = ex.getClass().getName();
@@ -6,32 +6,128 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.powsybl.contingency.AbstractSidedContingency;
 import com.powsybl.contingency.Contingency;
-import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.contingency.ContingencyElementType;
 import com.powsybl.sensitivity.SensitivityVariableSet;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroup;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsIndex;
 
 import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
 
+/**
+ * Contingencies with the same outage, i.e. the same set of elements, are simulated once : the first one added is
+ * simulated, the following ones are aliases of it, which get its results.
+ */
 @NoArgsConstructor
-@Getter
 public class SensitivityAnalysisInputs {
-    private Set<Contingency> contingencies = new HashSet<>();
 
-    private List<List<SensitivityFactor>> factors = new ArrayList<>();
+    /**
+     * An element of an outage, with the voltage level of the side opened when only one side is
+     */
+    private record OutageElement(ContingencyElementType type, String id, String voltageLevelId) {
+    }
+    private final Map<String, Contingency> simulatedContingencies = new LinkedHashMap<>();
+
+    private final Map<String, Contingency> aliasContingencies = new LinkedHashMap<>();
+
+    private final Map<String, String> simulatedContingencyIds = new HashMap<>();
 
+    private final Map<Set<OutageElement>, String> simulatedContingencyIdsByOutage = new HashMap<>();
+
+    @Getter
+    private List<SensitivityFactorsGroup> factorsGroups = new ArrayList<>();
+
+    @Getter
     private List<SensitivityVariableSet> variablesSets = new ArrayList<>();
 
+    private final Set<SensitivityVariableSet> addedVariablesSets = Collections.newSetFromMap(new IdentityHashMap<>());
+
     void addContingencies(List<Contingency> contingencies) {
-        this.contingencies.addAll(contingencies);
+        for (Contingency contingency : contingencies) {
+            if (simulatedContingencyIds.containsKey(contingency.getId())) {
+                continue;
+            }
+            String simulatedContingencyId = simulatedContingencyIdsByOutage.computeIfAbsent(getOutage(contingency), outage -> contingency.getId());
+            simulatedContingencyIds.put(contingency.getId(), simulatedContingencyId);
+            if (simulatedContingencyId.equals(contingency.getId())) {
+                simulatedContingencies.put(contingency.getId(), contingency);
+            } else {
+                aliasContingencies.put(contingency.getId(), contingency);
+            }
+        }
     }
 
-    void addSensitivityFactors(List<List<SensitivityFactor>> factors) {
-        this.factors.addAll(factors);
+    void addSensitivityFactorsGroup(SensitivityFactorsGroup factorsGroup) {
+        this.factorsGroups.add(factorsGroup);
     }
 
     void addSensitivityVariableSets(List<SensitivityVariableSet> variablesSets) {
-        this.variablesSets.addAll(variablesSets);
+        // a variable set shared by several groups is the same instance, built once per filters and distribution type :
+        // it is given once to the provider, whereas the sets of another key are all kept whatever their id
+        variablesSets.stream()
+            .filter(addedVariablesSets::add)
+            .forEach(this.variablesSets::add);
+    }
+
+    /**
+     * @return all the contingencies, the simulated ones first so that they have the same index as in
+     * {@link #getSimulatedContingencies()}, then their aliases
+     */
+    public List<Contingency> getContingencies() {
+        List<Contingency> contingencies = new ArrayList<>(simulatedContingencies.values());
+        contingencies.addAll(aliasContingencies.values());
+        return contingencies;
+    }
+
+    public List<Contingency> getSimulatedContingencies() {
+        return new ArrayList<>(simulatedContingencies.values());
+    }
+
+    /**
+     * @return the id of the simulated contingency, by contingency id
+     */
+    public Map<String, String> getSimulatedContingencyIds() {
+        return Collections.unmodifiableMap(simulatedContingencyIds);
+    }
+
+    /**
+     * @return the indexes in {@link #getContingencies()} of the aliases, by index of their simulated contingency
+     */
+    public Map<Integer, List<Integer>> getAliasContingencyIndexes() {
+        Map<String, Integer> simulatedContingencyIndexes = new HashMap<>();
+        simulatedContingencies.keySet().forEach(id -> simulatedContingencyIndexes.put(id, simulatedContingencyIndexes.size()));
+        Map<Integer, List<Integer>> aliasContingencyIndexes = new HashMap<>();
+        int aliasIndex = simulatedContingencies.size();
+        for (String aliasId : aliasContingencies.keySet()) {
+            aliasContingencyIndexes.computeIfAbsent(simulatedContingencyIndexes.get(simulatedContingencyIds.get(aliasId)), index -> new ArrayList<>())
+                .add(aliasIndex++);
+        }
+        return aliasContingencyIndexes;
+    }
+
+    /**
+     * @return the index in {@link #getContingencies()} of the contingency of a factor, by factor index, -1 for the
+     * pre-contingency factors
+     */
+    public IntUnaryOperator getFactorContingencyIndexes() {
+        Map<String, Integer> contingencyIndexes = new HashMap<>();
+        getContingencies().forEach(contingency -> contingencyIndexes.put(contingency.getId(), contingencyIndexes.size()));
+        SensitivityFactorsIndex factorsIndex = new SensitivityFactorsIndex(factorsGroups);
+        return factorIndex -> {
+            String contingencyId = factorsIndex.getContingencyId(factorIndex);
+            return contingencyId != null ? contingencyIndexes.get(contingencyId) : -1;
+        };
+    }
+
+    private static Set<OutageElement> getOutage(Contingency contingency) {
+        return contingency.getElements().stream()
+            .map(element -> new OutageElement(element.getType(), element.getId(),
+                element instanceof AbstractSidedContingency sidedElement ? sidedElement.getVoltageLevelId() : null))
+            .collect(Collectors.toSet());
     }
 }
@@ -16,6 +16,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 
 import java.io.UncheckedIOException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -27,6 +28,8 @@ import static org.gridsuite.computation.utils.MessageUtils.getNonNullHeader;
  */
 public class SensitivityAnalysisResultContext extends AbstractResultContext<SensitivityAnalysisRunContext> {
 
+    private static final String HEADER_RESULT_COUNT = "resultCount";
+
     public SensitivityAnalysisResultContext(UUID resultUuid, SensitivityAnalysisRunContext runContext) {
         super(resultUuid, runContext);
     }
@@ -52,6 +55,14 @@ public class SensitivityAnalysisResultContext extends AbstractResultContext<Sens
         String reportType = headers.containsKey(REPORT_TYPE_HEADER) ? (String) headers.get(REPORT_TYPE_HEADER) : null;
         SensitivityAnalysisRunContext runContext = new SensitivityAnalysisRunContext(networkUuid,
             variantId, receiver, new ReportInfos(reportUuid, reporterId, reportType), userId, provider, sensitivityAnalysisInputData);
+        String resultCount = (String) headers.get(HEADER_RESULT_COUNT);
+        runContext.setResultCount(resultCount != null ? Long.valueOf(resultCount) : null);
         return new SensitivityAnalysisResultContext(resultUuid, runContext);
     }
+
+    @Override
+    protected Map<String, String> getSpecificMsgHeaders(ObjectMapper ignoredObjectMapper) {
+        Long resultCount = getRunContext().getResultCount();
+        return resultCount != null ? Map.of(HEADER_RESULT_COUNT, resultCount.toString()) : Map.of();
+    }
 }
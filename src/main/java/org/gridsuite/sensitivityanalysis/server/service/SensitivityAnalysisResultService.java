@@ -6,11 +6,14 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.powsybl.sensitivity.SensitivityFunctionType;
 import com.powsybl.sensitivity.SensitivityValue;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.service.AbstractComputationResultService;
 import lombok.AllArgsConstructor;
 import org.gridsuite.sensitivityanalysis.server.dto.*;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ContingencyImpactSortKey;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ContingencyImpactsSelector;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultTab;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultsSelector;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.SortKey;
@@ -19,6 +22,7 @@ import org.gridsuite.sensitivityanalysis.server.repositories.*;
 import org.gridsuite.sensitivityanalysis.server.repositories.specifications.SensitivityResultNKSpecificationBuilder;
 import org.gridsuite.sensitivityanalysis.server.repositories.specifications.SensitivityResultSpecificationBuilder;
 import org.gridsuite.sensitivityanalysis.server.util.ContingencyResult;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -34,7 +38,9 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -49,6 +55,10 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
 
     private static final Sort.Direction DEFAULT_SORT_DIRECTION = Sort.Direction.ASC;
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+    // a post-contingency value differing from the pre-contingency one by less than this is numerical noise
+    private static final double CONTINGENCY_IMPACT_THRESHOLD = 1e-6;
+
     private final GlobalStatusRepository globalStatusRepository;
 
     private final AnalysisResultRepository analysisResultRepository;
@@ -59,6 +69,10 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
 
     private final RawSensitivityResultRepository rawSensitivityResultRepository;
 
+    private final ContingencyImpactRepository contingencyImpactRepository;
+
+    private final SensitivityResultStreamRepository sensitivityResultStreamRepository;
+
     private final SensitivityResultSpecificationBuilder sensitivityResultSpecificationBuilder;
     private final SensitivityResultNKSpecificationBuilder sensitivityResultNkSpecificationBuilder;
 
@@ -87,12 +101,14 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
     }
 
     @Transactional
-    public void writeSensitivityValues(UUID resultUuid, List<SensitivityValue> sensitivityValues) {
+    public void writeSensitivityValues(UUID resultUuid, List<SensitivityValue> sensitivityValues, SensitivityFactorsIndex factorsIndex) {
         AnalysisResultEntity analysisResult = analysisResultRepository.findByResultUuid(resultUuid);
         var rawSensitivityResults = sensitivityValues.stream().map(s -> new RawSensitivityResultEntity(
             s.getFactorIndex(),
             s.getValue(),
             s.getFunctionReference(),
+            factorsIndex.getFunctionType(s.getFactorIndex()),
+            factorsIndex.isPostContingency(s.getFactorIndex()),
             analysisResult
         )).collect(Collectors.toSet());
         rawSensitivityResultRepository.saveAllAndFlush(rawSensitivityResults);
@@ -110,6 +126,42 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
         });
     }
 
+    @Transactional
+    public void setCompleted(UUID resultUuid) {
+        analysisResultRepository.updateCompletionTimeStamp(resultUuid, Instant.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    /**
+     * Not read-only, so that it is served by the primary database : the ETags are derived from it and must not lag
+     * behind the completion that was just committed
+     */
+    @Transactional
+    public Optional<Instant> getCompletionTimeStamp(UUID resultUuid) {
+        return analysisResultRepository.findCompletionTimeStampByResultUuid(resultUuid);
+    }
+
+    @Transactional
+    public void updateAbsoluteDeltas(UUID resultUuid) {
+        rawSensitivityResultRepository.updateAbsDeltasByAnalysisResultUuid(resultUuid);
+    }
+
+    @Transactional
+    public void insertContingencyImpacts(UUID resultUuid) {
+        AnalysisResultEntity analysisResult = analysisResultRepository.findByResultUuid(resultUuid);
+        if (analysisResult == null) {
+            return;
+        }
+        contingencyImpactRepository.saveAll(sensitivityResultRepository.computeContingencyImpacts(resultUuid, CONTINGENCY_IMPACT_THRESHOLD).stream()
+            .map(impact -> new ContingencyImpactEntity(
+                impact.contingencyId(),
+                impact.functionType(),
+                impact.maxDelta(),
+                impact.maxPostFunctionReference(),
+                impact.impactedFactorCount(),
+                analysisResult))
+            .toList());
+    }
+
     @Transactional
     @Override
     public void delete(UUID resultUuid) {
@@ -117,6 +169,7 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
         AtomicReference<Long> startTime = new AtomicReference<>();
         startTime.set(System.nanoTime());
         globalStatusRepository.deleteByResultUuid(resultUuid);
+        contingencyImpactRepository.deleteAllByAnalysisResultUuid(resultUuid);
         sensitivityResultRepository.deleteAllPostContingenciesByAnalysisResultUuid(resultUuid);
         sensitivityResultRepository.deleteAllByAnalysisResultUuid(resultUuid);
         rawSensitivityResultRepository.deleteAllByAnalysisResultUuid(resultUuid);
@@ -129,6 +182,7 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
     @Override
     public void deleteAll() {
         globalStatusRepository.deleteAll();
+        contingencyImpactRepository.deleteAll();
         sensitivityResultRepository.deleteAllPostContingencies();
         sensitivityResultRepository.deleteAll();
         rawSensitivityResultRepository.deleteAll();
@@ -136,7 +190,10 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
         analysisResultRepository.deleteAll();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Not read-only, so that it is served by the primary database and sees the status that was just committed
+     */
+    @Transactional
     @Override
     public SensitivityAnalysisStatus findStatus(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
@@ -184,6 +241,105 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
         return getSensitivityRunQueryResult(selector, sas, sensitivityEntities);
     }
 
+    @Transactional(readOnly = true)
+    public ContingencyImpactsQueryResult getContingencyImpacts(UUID resultUuid, ContingencyImpactsSelector selector) {
+        AnalysisResultEntity sas = analysisResultRepository.findByResultUuid(resultUuid);
+        if (sas == null) {
+            return null;
+        }
+
+        Page<ContingencyImpactEntity> impacts = contingencyImpactRepository.findByAnalysisResultResultUuidAndFunctionType(
+            resultUuid, selector.getFunctionType(), getContingencyImpactsPageable(selector));
+        return ContingencyImpactsQueryResult.builder()
+            .functionType(selector.getFunctionType())
+            .requestedChunkSize(selector.getPageSize() == null ? 0 : selector.getPageSize())
+            .totalContingenciesCount(impacts.getTotalElements())
+            .contingencyImpacts(impacts.stream()
+                .map(impact -> new ContingencyImpact(
+                    impact.getContingencyId(),
+                    impact.getFunctionType(),
+                    impact.getMaxDelta(),
+                    impact.getMaxPostFunctionReference(),
+                    impact.getImpactedFactorCount()))
+                .toList())
+            .build();
+    }
+
+    private static Pageable getContingencyImpactsPageable(ContingencyImpactsSelector selector) {
+        List<Sort.Order> orders = new ArrayList<>();
+        Map<ContingencyImpactSortKey, Integer> sortKeys = selector.getSortKeysWithWeightAndDirection();
+        if (sortKeys != null) {
+            sortKeys.entrySet().stream()
+                .sorted(Comparator.comparingInt(e -> Math.abs(e.getValue())))
+                .forEach(e -> orders.add(e.getValue() > 0 ? Sort.Order.asc(getSort(e.getKey())) : Sort.Order.desc(getSort(e.getKey()))));
+        } else {
+            // most impacting contingencies first by default
+            orders.add(Sort.Order.desc(ContingencyImpactEntity.Fields.maxDelta));
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals(ContingencyImpactEntity.Fields.contingencyId))) {
+            // contingency id is unique for a function type, it makes paging deterministic
+            orders.add(Sort.Order.asc(ContingencyImpactEntity.Fields.contingencyId));
+        }
+        Sort sort = Sort.by(orders);
+        if (selector.getPageSize() != null && selector.getPageSize() > 0 && selector.getPageNumber() != null) {
+            return PageRequest.of(selector.getPageNumber(), selector.getPageSize(), sort);
+        }
+        return Pageable.unpaged(sort);
+    }
+
+    private static String getSort(ContingencyImpactSortKey sortKey) {
+        return switch (sortKey) {
+            case CONTINGENCY -> ContingencyImpactEntity.Fields.contingencyId;
+            case MAX_DELTA -> ContingencyImpactEntity.Fields.maxDelta;
+            case MAX_POST_REFERENCE -> ContingencyImpactEntity.Fields.maxPostFunctionReference;
+            case IMPACTED_FACTOR_COUNT -> ContingencyImpactEntity.Fields.impactedFactorCount;
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existsAnalysisResult(UUID resultUuid) {
+        return analysisResultRepository.existsById(resultUuid);
+    }
+
+    /**
+     * Unpaged alternative to {@link #getRunResult} : sensitivities are read through a database cursor and handed
+     * one by one to the consumer, so that the memory used does not depend on the result size.
+     * All the sensitivities matching the selector filters are streamed, the page of the selector being ignored.
+     */
+    @Transactional(readOnly = true)
+    public void streamRunResult(UUID resultUuid, ResultsSelector selector, List<ResourceFilterDTO> resourceFilters, Consumer<SensitivityOfTo> consumer) {
+        Specification<SensitivityResultEntity> spec = getSpecBuilder(selector)
+                .buildSpecificationFromSelector(resultUuid, resourceFilters, selector);
+        try (Stream<SensitivityOfTo> sensitivities = sensitivityResultStreamRepository.streamSensitivities(
+                spec, Sort.by(getOrders(selector)).and(Sort.by(DEFAULT_SORT_DIRECTION, DEFAULT_SENSITIVITY_SORT_COLUMN)), selector.getTabSelection() == ResultTab.N_K, STREAM_FETCH_SIZE)) {
+            sensitivities.forEach(consumer);
+        }
+    }
+
+    /**
+     * Point lookup of sensitivities, returned in the order of the keys with null for the keys that do not exist in the result
+     */
+    @Transactional(readOnly = true)
+    public List<SensitivityOfTo> getSensitivities(UUID resultUuid, SensitivityFunctionType functionType, List<SensitivityKey> keys) {
+        if (!analysisResultRepository.existsById(resultUuid)) {
+            return null;
+        }
+
+        Map<SensitivityKey, SensitivityOfTo> sensitivitiesByKey = new HashMap<>(keys.size());
+        keys.stream().distinct()
+            .collect(Collectors.partitioningBy(key -> key.contingencyId() != null))
+            .forEach((withContingency, tabKeys) -> {
+                if (tabKeys.isEmpty()) {
+                    return;
+                }
+                try (Stream<SensitivityOfTo> sensitivities = sensitivityResultStreamRepository.lookupSensitivities(
+                        resultUuid, functionType, withContingency, tabKeys, STREAM_FETCH_SIZE)) {
+                    sensitivities.forEach(sensitivity -> sensitivitiesByKey.put(SensitivityKey.of(sensitivity), sensitivity));
+                }
+            });
+        return keys.stream().map(sensitivitiesByKey::get).toList();
+    }
+
     private SensitivityResultSpecificationBuilder getSpecBuilder(ResultsSelector selector) {
         return selector.getTabSelection() == ResultTab.N_K ?
                 sensitivityResultNkSpecificationBuilder : sensitivityResultSpecificationBuilder;
@@ -281,6 +437,8 @@ public class SensitivityAnalysisResultService extends AbstractComputationResultS
             case FUNCTION -> "functionId";
             case SENSITIVITY, POST_SENSITIVITY -> "rawSensitivityResult.value";
             case REFERENCE, POST_REFERENCE -> "rawSensitivityResult.functionReference";
+            case ABS_SENSITIVITY, ABS_POST_SENSITIVITY -> "rawSensitivityResult.absValue";
+            case ABS_DELTA -> "rawSensitivityResult.absDelta";
             case VARIABLE -> "variableId";
             case CONTINGENCY -> "contingencyResult.contingencyId";
         };
@@ -7,6 +7,7 @@
 package org.gridsuite.sensitivityanalysis.server.service;
 
 import lombok.Getter;
+import lombok.Setter;
 import org.gridsuite.computation.service.AbstractComputationRunContext;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.sensitivityanalysis.server.dto.SensitivityAnalysisInputData;
@@ -22,6 +23,12 @@ public class SensitivityAnalysisRunContext extends AbstractComputationRunContext
 
     private final SensitivityAnalysisInputs sensitivityAnalysisInputs;
 
+    /**
+     * Number of sensitivity results counted before the run, which lets the worker choose how to load the network
+     */
+    @Setter
+    private Long resultCount;
+
     public SensitivityAnalysisRunContext(UUID networkUuid,
                                          String variantId,
                                          String receiver,
@@ -6,34 +6,52 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.powsybl.sensitivity.SensitivityAnalysisProvider;
-import com.univocity.parsers.csv.CsvFormat;
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.gridsuite.computation.error.ComputationException;
 import org.gridsuite.computation.dto.GlobalFilter;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.computation.service.AbstractComputationService;
 import org.gridsuite.computation.service.NotificationService;
 import org.gridsuite.computation.service.UuidGeneratorService;
-import com.univocity.parsers.csv.CsvWriter;
-import com.univocity.parsers.csv.CsvWriterSettings;
 import org.gridsuite.sensitivityanalysis.server.dto.*;
 import org.gridsuite.sensitivityanalysis.server.dto.parameters.FactorCount;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ContingencyImpactsSelector;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultTab;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultsSelector;
 import org.gridsuite.sensitivityanalysis.server.error.SensitivityAnalysisBusinessErrorCode;
 import org.gridsuite.sensitivityanalysis.server.error.SensitivityAnalysisException;
+import org.gridsuite.sensitivityanalysis.server.util.LocaleDoubleFormatter;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityArrowWriter;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityCsvWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.text.NumberFormat;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -46,6 +64,8 @@ import static org.gridsuite.computation.error.ComputationBusinessErrorCode.RESUL
 @Service
 public class SensitivityAnalysisService extends AbstractComputationService<SensitivityAnalysisRunContext, SensitivityAnalysisResultService, SensitivityAnalysisStatus> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SensitivityAnalysisService.class);
+
     public static final char CSV_DELIMITER_FR = ';';
     public static final char CSV_DELIMITER_EN = ',';
     public static final char CSV_QUOTE_ESCAPE = '"';
@@ -56,16 +76,51 @@ public class SensitivityAnalysisService extends AbstractComputationService<Sensi
 
     private final FilterService filterService;
 
+    private final ExecutorService exportExecutorService;
+
+    private final Path exportDirectory;
+
     public SensitivityAnalysisService(@Value("${sensitivity-analysis.default-provider}") String defaultProvider,
                                       SensitivityAnalysisResultService resultService,
                                       UuidGeneratorService uuidGeneratorService,
                                       NotificationService notificationService,
                                       SensitivityAnalysisFactorCountService sensitivityAnalysisFactorCountService,
                                       FilterService filterService,
-                                      ObjectMapper objectMapper) {
+                                      ObjectMapper objectMapper,
+                                      @Value("${sensitivity-analysis.export.archive-threads:2}") int exportThreads,
+                                      @Value("${sensitivity-analysis.datasource.read.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int readPoolSize,
+                                      @Value("${sensitivity-analysis.export.directory:${java.io.tmpdir}/sensitivity-analysis-exports}") Path exportDirectory) {
         super(notificationService, resultService, objectMapper, uuidGeneratorService, defaultProvider);
         this.sensitivityAnalysisFactorCountService = sensitivityAnalysisFactorCountService;
         this.filterService = filterService;
+        this.exportExecutorService = Executors.newFixedThreadPool(getArchiveThreads(exportThreads, readPoolSize), new ThreadFactoryBuilder()
+            .setNameFormat("sensitivity-archive-export-%d")
+            .setDaemon(true)
+            .build());
+        this.exportDirectory = exportDirectory;
+        try {
+            Files.createDirectories(exportDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create the export directory " + exportDirectory, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exportExecutorService.shutdownNow();
+    }
+
+    /**
+     * Each archive entry holds a connection of the read pool while it is written, whatever the number of archives being
+     * exported : the archive threads are kept to a quarter of this pool, so that the archives cannot starve the other reads
+     */
+    static int getArchiveThreads(int archiveThreads, int readPoolSize) {
+        int maxArchiveThreads = Math.max(1, readPoolSize / 4);
+        if (archiveThreads > maxArchiveThreads) {
+            LOGGER.warn("{} csv archive export threads requested for a pool of {} connections, limited to {}", archiveThreads, readPoolSize, maxArchiveThreads);
+            return maxArchiveThreads;
+        }
+        return archiveThreads;
     }
 
     @Override
@@ -85,6 +140,8 @@ public class SensitivityAnalysisService extends AbstractComputationService<Sensi
         if (factorCount.resultCount() > MAX_RESULTS_THRESHOLD || factorCount.variableCount() > MAX_VARIABLES_THRESHOLD) {
             throw new SensitivityAnalysisException(SensitivityAnalysisBusinessErrorCode.TOO_MANY_FACTORS, "Too many factors to run sensitivity analysis", Map.of("resultCount", factorCount.resultCount(), "resultCountLimit", MAX_RESULTS_THRESHOLD, "variableCount", factorCount.variableCount(), "variableCountLimit", MAX_VARIABLES_THRESHOLD));
         }
+        // lets the worker choose how to load the network
+        runContext.setResultCount(factorCount.resultCount());
 
         // update status to running status
         setStatus(List.of(resultUuid), SensitivityAnalysisStatus.RUNNING);
@@ -93,6 +150,54 @@ public class SensitivityAnalysisService extends AbstractComputationService<Sensi
     }
 
     public SensitivityRunQueryResult getRunResult(UUID resultUuid, UUID networkUuid, String variantId, ResultsSelector selector, List<ResourceFilterDTO> resourceFilters, GlobalFilter globalFilter) {
+        return resultService.getRunResult(resultUuid, selector, getAllResourceFilters(networkUuid, variantId, resourceFilters, globalFilter));
+    }
+
+    /**
+     * Strong entity tag of a query on a completed result : completed results are immutable until deleted, so the tag only
+     * depends on the result, its completion time and the parts of the request defining the response.
+     * Running results, and queries relying on a global filter evaluated on the current network, get no tag.
+     */
+    public Optional<String> getResultETag(UUID resultUuid, GlobalFilter globalFilter, Object... requestParts) {
+        if (globalFilter != null) {
+            return Optional.empty();
+        }
+        return resultService.getCompletionTimeStamp(resultUuid).map(completionTimeStamp -> {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(resultUuid.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(completionTimeStamp.toString().getBytes(StandardCharsets.UTF_8));
+                for (Object requestPart : requestParts) {
+                    digest.update((byte) 0);
+                    digest.update(objectMapper.writeValueAsBytes(requestPart));
+                }
+                return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+            } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public List<SensitivityOfTo> getSensitivities(UUID resultUuid, SensitivityFunctionType functionType, List<SensitivityKey> keys) {
+        return resultService.getSensitivities(resultUuid, functionType, keys);
+    }
+
+    public boolean existsRunResult(UUID resultUuid) {
+        return resultService.existsAnalysisResult(resultUuid);
+    }
+
+    /**
+     * @param allResourceFilters the resource filters including the global filter, resolved by {@link #getAllResourceFilters}
+     * before the response starts being streamed
+     */
+    public void streamRunResult(UUID resultUuid, ResultsSelector selector, List<ResourceFilterDTO> allResourceFilters, Consumer<SensitivityOfTo> consumer) {
+        resultService.streamRunResult(resultUuid, selector, allResourceFilters, consumer);
+    }
+
+    /**
+     * @return the resource filters with the one resolved from the global filter, which is evaluated by the filter server
+     */
+    public List<ResourceFilterDTO> getAllResourceFilters(UUID networkUuid, String variantId, List<ResourceFilterDTO> resourceFilters, GlobalFilter globalFilter) {
         List<ResourceFilterDTO> allResourceFilters = new ArrayList<>();
         if (resourceFilters != null) {
             allResourceFilters.addAll(resourceFilters);
@@ -101,13 +206,17 @@ public class SensitivityAnalysisService extends AbstractComputationService<Sensi
             Optional<ResourceFilterDTO> resourceGlobalFilters = filterService.getResourceFilter(networkUuid, variantId, globalFilter);
             resourceGlobalFilters.ifPresent(allResourceFilters::add);
         }
-        return resultService.getRunResult(resultUuid, selector, allResourceFilters);
+        return allResourceFilters;
     }
 
     public SensitivityResultFilterOptions getSensitivityResultOptions(UUID resultUuid, ResultsSelector selector) {
         return resultService.getSensitivityResultFilterOptions(resultUuid, selector);
     }
 
+    public ContingencyImpactsQueryResult getContingencyImpacts(UUID resultUuid, ContingencyImpactsSelector selector) {
+        return resultService.getContingencyImpacts(resultUuid, selector);
+    }
+
     @Override
     public List<String> getProviders() {
         return SensitivityAnalysisProvider.findAll().stream()
@@ -115,80 +224,220 @@ public class SensitivityAnalysisService extends AbstractComputationService<Sensi
                 .toList();
     }
 
-    private static void setFormat(CsvFormat format, String language) {
-        format.setLineSeparator(System.lineSeparator());
-        format.setDelimiter(language != null && language.equals("fr") ? CSV_DELIMITER_FR : CSV_DELIMITER_EN);
-        format.setQuoteEscape(CSV_QUOTE_ESCAPE);
+    /**
+     * Checks the export can be done, so that errors can be reported before the export starts being streamed
+     */
+    public void checkCsvExport(UUID resultUuid, SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos) {
+        checkCsvFileInfos(sensitivityAnalysisCsvFileInfos);
+        checkResultExists(resultUuid);
     }
 
-    private static String convertDoubleToLocale(Double value, String language) {
-        if (value != null) {
-            NumberFormat nf = NumberFormat.getInstance(language != null && language.equals("fr") ? Locale.FRENCH : Locale.US);
-            nf.setGroupingUsed(false);
-            return nf.format(value);
+    public void checkCsvArchiveExport(UUID resultUuid, List<SensitivityAnalysisCsvFileInfos> sensitivityAnalysisCsvFilesInfos) {
+        if (CollectionUtils.isEmpty(sensitivityAnalysisCsvFilesInfos)) {
+            throw new ComputationException(INVALID_EXPORT_PARAMS, "Missing information to export sensitivity results as csv archive : at least one csv file must be provided");
+        }
+        sensitivityAnalysisCsvFilesInfos.forEach(SensitivityAnalysisService::checkCsvFileInfos);
+        if (sensitivityAnalysisCsvFilesInfos.stream().map(SensitivityAnalysisService::getCsvArchiveEntryName).distinct().count() != sensitivityAnalysisCsvFilesInfos.size()) {
+            throw new ComputationException(INVALID_EXPORT_PARAMS, "Each sensitivity result tab and function type can only be exported once in a csv archive");
         }
-        return null;
+        checkResultExists(resultUuid);
     }
 
-    public byte[] exportSensitivityResultsAsCsv(UUID resultUuid, SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos, UUID networkUuid, String variantId, ResultsSelector selector, List<ResourceFilterDTO> resourceFilters, GlobalFilter globalFilter) {
+    private static void checkCsvFileInfos(SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos) {
         if (sensitivityAnalysisCsvFileInfos == null ||
                 sensitivityAnalysisCsvFileInfos.getSensitivityFunctionType() == null ||
                 sensitivityAnalysisCsvFileInfos.getResultTab() == null ||
                 CollectionUtils.isEmpty(sensitivityAnalysisCsvFileInfos.getCsvHeaders())) {
             throw new ComputationException(INVALID_EXPORT_PARAMS, "Missing information to export sensitivity result as csv : Sensitivity result tab, sensitivity function type and csv file headers must be provided");
         }
-        SensitivityRunQueryResult result = getRunResult(resultUuid, networkUuid, variantId, selector, resourceFilters, globalFilter);
-        if (result == null) {
+    }
+
+    private void checkResultExists(UUID resultUuid) {
+        if (!resultService.existsAnalysisResult(resultUuid)) {
             throw new ComputationException(RESULT_NOT_FOUND, "The sensitivity analysis result '" + resultUuid + "' does not exist");
         }
+    }
+
+    /**
+     * Writes the zipped csv export into the output stream as the sensitivities are read from the database,
+     * so that the memory used does not depend on the size of the result
+     */
+    public void exportSensitivityResultsAsCsv(UUID resultUuid, SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos,
+                                              ResultsSelector selector, List<ResourceFilterDTO> allResourceFilters, OutputStream outputStream) {
+        checkCsvExport(resultUuid, sensitivityAnalysisCsvFileInfos);
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
             zipOutputStream.putNextEntry(new ZipEntry("sensitivity_result.csv"));
+            writeCsv(resultUuid, sensitivityAnalysisCsvFileInfos, selector, allResourceFilters, zipOutputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error occured during data csv export", e);
+        }
+    }
 
-            // adding BOM to the beginning of file to help excel in some versions to detect this is UTF-8 encoding bytes
-            writeUTF8Bom(zipOutputStream);
-            CsvWriterSettings settings = new CsvWriterSettings();
-            setFormat(settings.getFormat(), sensitivityAnalysisCsvFileInfos.getLanguage());
-            CsvWriter csvWriter = new CsvWriter(zipOutputStream, StandardCharsets.UTF_8, settings);
-            csvWriter.writeHeaders(sensitivityAnalysisCsvFileInfos.getCsvHeaders());
-            if (selector.getTabSelection() == ResultTab.N) {
-                result.getSensitivities()
-                        .forEach(sensitivity -> csvWriter.writeRow(
-                                sensitivity.getFuncId(),
-                                sensitivity.getVarId(),
-                                convertDoubleToLocale(nullIfNan(sensitivity.getFunctionReference()), sensitivityAnalysisCsvFileInfos.getLanguage()),
-                                convertDoubleToLocale(nullIfNan(sensitivity.getValue()), sensitivityAnalysisCsvFileInfos.getLanguage())
-                        ));
-            } else if (selector.getTabSelection() == ResultTab.N_K) {
-                result.getSensitivities()
-                        .stream()
-                        .map(SensitivityWithContingency.class::cast)
-                        .forEach(sensitivityWithContingency -> csvWriter.writeRow(
-                                sensitivityWithContingency.getFuncId(),
-                                sensitivityWithContingency.getVarId(),
-                                sensitivityWithContingency.getContingencyId(),
-                                convertDoubleToLocale(nullIfNan(sensitivityWithContingency.getFunctionReference()), sensitivityAnalysisCsvFileInfos.getLanguage()),
-                                convertDoubleToLocale(nullIfNan(sensitivityWithContingency.getValue()), sensitivityAnalysisCsvFileInfos.getLanguage()),
-                                convertDoubleToLocale(nullIfNan(sensitivityWithContingency.getFunctionReferenceAfter()), sensitivityAnalysisCsvFileInfos.getLanguage()),
-                                convertDoubleToLocale(nullIfNan(sensitivityWithContingency.getValueAfter()), sensitivityAnalysisCsvFileInfos.getLanguage())
-                        ));
+    /**
+     * Writes one csv file per tab and function type into a single zip archive. Each file is read from its own database
+     * cursor and compressed into a temporary file by the export threads, the compressed entries being then copied in
+     * the requested order into the archive without being compressed again.
+     * The tab and function type of each file replace the ones of the selector, whose sorting and filtering apply to all the files.
+     * The files infos must have been checked with {@link #checkCsvArchiveExport} beforehand.
+     */
+    public void exportSensitivityResultsAsCsvArchive(UUID resultUuid, List<SensitivityAnalysisCsvFileInfos> sensitivityAnalysisCsvFilesInfos,
+                                                     ResultsSelector selector, List<ResourceFilterDTO> allResourceFilters, OutputStream outputStream) {
+        List<Future<Path>> entryFiles = sensitivityAnalysisCsvFilesInfos.stream()
+            .map(csvFileInfos -> exportExecutorService.submit(() -> writeCsvArchiveEntry(resultUuid, csvFileInfos,
+                getCsvArchiveEntrySelector(selector, csvFileInfos), allResourceFilters)))
+            .toList();
+        try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(outputStream)) {
+            for (Future<Path> entryFile : entryFiles) {
+                try (ZipFile zipFile = ZipFile.builder().setPath(getCsvArchiveEntryFile(entryFile)).get()) {
+                    ZipArchiveEntry entry = zipFile.getEntries().nextElement();
+                    zipOutputStream.addRawArchiveEntry(entry, zipFile.getRawInputStream(entry));
+                }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error occured during data csv export", e);
+        } finally {
+            // on a failure or a client disconnection, the entries still being written are interrupted
+            entryFiles.forEach(entryFile -> entryFile.cancel(true));
+            entryFiles.stream()
+                .filter(entryFile -> entryFile.isDone() && !entryFile.isCancelled())
+                .forEach(entryFile -> {
+                    try {
+                        deleteQuietly(entryFile.get());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        // failed entries have already deleted their file
+                    }
+                });
+        }
+    }
 
-            csvWriter.close();
-            return outputStream.toByteArray();
+    private static Path getCsvArchiveEntryFile(Future<Path> entryFile) {
+        try {
+            return entryFile.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The csv archive export has been interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void checkArrowExport(UUID resultUuid, ResultsSelector selector) {
+        if (selector.getTabSelection() != ResultTab.N && selector.getTabSelection() != ResultTab.N_K) {
+            throw new ComputationException(INVALID_EXPORT_PARAMS, "Only the N and N-K sensitivity result tabs can be exported as arrow file");
+        }
+        checkResultExists(resultUuid);
+    }
+
+    /**
+     * Writes the sensitivities of the selector as an arrow file, read from the database and written by batches.
+     * The ids are dictionary encoded against the distinct ids of the result for the selector function type and tab.
+     */
+    public void exportSensitivityResultsAsArrow(UUID resultUuid, ResultsSelector selector, List<ResourceFilterDTO> allResourceFilters,
+                                                OutputStream outputStream) {
+        checkArrowExport(resultUuid, selector);
+        SensitivityResultFilterOptions ids = resultService.getSensitivityResultFilterOptions(resultUuid, selector);
+        boolean withContingency = selector.getTabSelection() == ResultTab.N_K;
+
+        try (SensitivityArrowWriter arrowWriter = new SensitivityArrowWriter(outputStream, withContingency,
+                ids.getAllFunctionIds(), ids.getAllVariableIds(), withContingency ? ids.getAllContingencyIds() : List.of())) {
+            arrowWriter.start();
+            resultService.streamRunResult(resultUuid, selector, allResourceFilters, sensitivity -> {
+                try {
+                    arrowWriter.write(sensitivity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error occured during data arrow export", e);
+                }
+            });
+            arrowWriter.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error occured during data arrow export", e);
+        }
+    }
+
+    private Path writeCsvArchiveEntry(UUID resultUuid, SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos, ResultsSelector selector,
+                                      List<ResourceFilterDTO> allResourceFilters) {
+        try {
+            Path entryFile = Files.createTempFile(exportDirectory, "sensitivity-export-", ".zip");
+            try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(entryFile)) {
+                zipOutputStream.putArchiveEntry(new ZipArchiveEntry(getCsvArchiveEntryName(sensitivityAnalysisCsvFileInfos)));
+                writeCsv(resultUuid, sensitivityAnalysisCsvFileInfos, selector, allResourceFilters, zipOutputStream);
+                zipOutputStream.closeArchiveEntry();
+                // the archive may have been given up while the last rows were written
+                checkNotCancelled();
+            } catch (IOException | RuntimeException e) {
+                deleteQuietly(entryFile);
+                throw e;
+            }
+            return entryFile;
         } catch (IOException e) {
             throw new UncheckedIOException("Error occured during data csv export", e);
         }
     }
 
+    private static String getCsvArchiveEntryName(SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos) {
+        return "sensitivity_result_" + sensitivityAnalysisCsvFileInfos.getResultTab() + "_" + sensitivityAnalysisCsvFileInfos.getSensitivityFunctionType() + ".csv";
+    }
+
+    private static ResultsSelector getCsvArchiveEntrySelector(ResultsSelector selector, SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos) {
+        return ResultsSelector.builder()
+            .functionType(sensitivityAnalysisCsvFileInfos.getSensitivityFunctionType())
+            .tabSelection(sensitivityAnalysisCsvFileInfos.getResultTab())
+            .sortKeysWithWeightAndDirection(selector.getSortKeysWithWeightAndDirection())
+            .functionIds(selector.getFunctionIds())
+            .variableIds(selector.getVariableIds())
+            .contingencyIds(selector.getContingencyIds())
+            .build();
+    }
+
+    private void writeCsv(UUID resultUuid, SensitivityAnalysisCsvFileInfos sensitivityAnalysisCsvFileInfos, ResultsSelector selector,
+                          List<ResourceFilterDTO> allResourceFilters, OutputStream outputStream) throws IOException {
+        // adding BOM to the beginning of file to help excel in some versions to detect this is UTF-8 encoding bytes
+        writeUTF8Bom(outputStream);
+        String language = sensitivityAnalysisCsvFileInfos.getLanguage();
+        SensitivityCsvWriter csvWriter = new SensitivityCsvWriter(outputStream,
+                "fr".equals(language) ? CSV_DELIMITER_FR : CSV_DELIMITER_EN, CSV_QUOTE_ESCAPE,
+                LocaleDoubleFormatter.forLanguage(language));
+        csvWriter.writeHeaders(sensitivityAnalysisCsvFileInfos.getCsvHeaders());
+        if (selector.getTabSelection() == ResultTab.N || selector.getTabSelection() == ResultTab.N_K) {
+            resultService.streamRunResult(resultUuid, selector, allResourceFilters, sensitivity -> {
+                checkNotCancelled();
+                writeCsvRow(csvWriter, sensitivity);
+            });
+        }
+        csvWriter.flush();
+    }
+
+    /**
+     * The archive entries are written by interruptible tasks, which stop streaming as soon as they are cancelled
+     */
+    private static void checkNotCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("The csv export has been cancelled");
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete temporary export file {}", path, e);
+        }
+    }
+
     private static void writeUTF8Bom(OutputStream outputStream) throws IOException {
         outputStream.write(0xef);
         outputStream.write(0xbb);
         outputStream.write(0xbf);
     }
 
-    private static Double nullIfNan(double d) {
-        return Double.isNaN(d) ? null : d;
+    private static void writeCsvRow(SensitivityCsvWriter csvWriter, SensitivityOfTo sensitivity) {
+        try {
+            csvWriter.writeRow(sensitivity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error occured during data csv export", e);
+        }
     }
 }
@@ -18,6 +18,7 @@ import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.loadflow.LoadFlowProvider;
 import com.powsybl.network.store.client.NetworkStoreService;
+import com.powsybl.network.store.client.PreloadingStrategy;
 import com.powsybl.sensitivity.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
@@ -32,14 +33,21 @@ import org.gridsuite.sensitivityanalysis.server.entities.ContingencyResultEntity
 import org.gridsuite.sensitivityanalysis.server.entities.SensitivityResultEntity;
 import org.gridsuite.sensitivityanalysis.server.util.BatchAsyncPollerFactory;
 import org.gridsuite.sensitivityanalysis.server.util.ScheduledThreadPoolFactory;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroup;
+import org.gridsuite.sensitivityanalysis.server.util.ProviderIndexesResultWriter;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroupReader;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsIndex;
 import org.gridsuite.sensitivityanalysis.server.util.SensitivityAnalysisRunnerSupplier;
 import org.gridsuite.sensitivityanalysis.server.util.SensitivityResultPersistedWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -66,6 +74,22 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
     private final ScheduledThreadPoolFactory scheduledThreadPoolFactory;
     private final BatchAsyncPollerFactory batchAsyncPollerFactory;
 
+    /**
+     * Contingency lists and filters of the queued runs, requested when the run message is received so that they are
+     * resolved while the network is loaded
+     */
+    private final Map<UUID, SensitivityAnalysisInputBuilderService.RemoteInputs> prefetchedRemoteInputs = new ConcurrentHashMap<>();
+
+    /**
+     * Network preloading : a small run only reads the collections it needs, while a large one reads most of the network,
+     * which is loaded faster in a few bulk requests. The base worker loads the network of a queued run on the consuming
+     * thread, so the strategy chosen from its message is kept there until then.
+     */
+    private final PreloadingStrategy smallRunPreloadingStrategy;
+    private final PreloadingStrategy largeRunPreloadingStrategy;
+    private final long largeRunResultCount;
+    private final ThreadLocal<PreloadingStrategy> runPreloadingStrategy = new ThreadLocal<>();
+
     public SensitivityAnalysisWorkerService(NetworkStoreService networkStoreService,
                                             ReportService reportService,
                                             NotificationService notificationService,
@@ -77,7 +101,10 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
                                             SensitivityAnalysisRunnerSupplier sensitivityAnalysisRunnerSupplier,
                                             SensitivityAnalysisObserver observer,
                                             SensitivityAnalysisInMemoryObserver inMemoryObserver,
-                                            PropertyServerNameProvider propertyServerNameProvider) {
+                                            PropertyServerNameProvider propertyServerNameProvider,
+                                            @Value("${sensitivity-analysis.network-preloading.small-run-strategy:COLLECTION}") PreloadingStrategy smallRunPreloadingStrategy,
+                                            @Value("${sensitivity-analysis.network-preloading.large-run-strategy:ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW}") PreloadingStrategy largeRunPreloadingStrategy,
+                                            @Value("${sensitivity-analysis.network-preloading.large-run-result-count:100000}") long largeRunResultCount) {
         super(networkStoreService, notificationService, reportService, resultService, executionService, observer, objectMapper, propertyServerNameProvider);
         this.sensitivityAnalysisInputBuilderService = sensitivityAnalysisInputBuilderService;
         this.parametersService = parametersService;
@@ -85,6 +112,9 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
         this.inMemoryObserver = inMemoryObserver;
         this.scheduledThreadPoolFactory = ScheduledThreadPoolFactory.getDefault();
         this.batchAsyncPollerFactory = BatchAsyncPollerFactory.getDefault();
+        this.smallRunPreloadingStrategy = smallRunPreloadingStrategy;
+        this.largeRunPreloadingStrategy = largeRunPreloadingStrategy;
+        this.largeRunResultCount = largeRunResultCount;
     }
 
     @Override
@@ -94,12 +124,37 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
 
     @Bean
     public Consumer<Message<String>> consumeRun1() {
-        return super.consumeRun();
+        return prefetchingRemoteInputs(super.consumeRun());
     }
 
     @Bean
     public Consumer<Message<String>> consumeRun2() {
-        return super.consumeRun();
+        return prefetchingRemoteInputs(super.consumeRun());
+    }
+
+    private Consumer<Message<String>> prefetchingRemoteInputs(Consumer<Message<String>> consumeRun) {
+        return message -> {
+            UUID resultUuid = null;
+            try {
+                SensitivityAnalysisResultContext resultContext = fromMessage(message);
+                resultUuid = resultContext.getResultUuid();
+                runPreloadingStrategy.set(getPreloadingStrategy(resultContext.getRunContext()));
+                prefetchedRemoteInputs.put(resultUuid, sensitivityAnalysisInputBuilderService.fetchRemoteInputs(resultContext.getRunContext()));
+            } catch (Exception e) {
+                // the message is handled, and its errors reported, by the run itself
+                log.warn("Could not prefetch the remote inputs of the run", e);
+            }
+            try {
+                consumeRun.accept(message);
+            } finally {
+                runPreloadingStrategy.remove();
+                // the run was not built, for instance because it was cancelled or its network could not be loaded
+                SensitivityAnalysisInputBuilderService.RemoteInputs remoteInputs = resultUuid != null ? prefetchedRemoteInputs.remove(resultUuid) : null;
+                if (remoteInputs != null) {
+                    remoteInputs.cancel();
+                }
+            }
+        };
     }
 
     @Bean
@@ -108,6 +163,29 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
         return super.consumeCancel();
     }
 
+    private PreloadingStrategy getPreloadingStrategy(SensitivityAnalysisRunContext runContext) {
+        Long resultCount = runContext.getResultCount();
+        return resultCount != null && resultCount >= largeRunResultCount ? largeRunPreloadingStrategy : smallRunPreloadingStrategy;
+    }
+
+    @Override
+    protected Network getNetwork(UUID networkUuid, String variantId) {
+        PreloadingStrategy preloadingStrategy = Objects.requireNonNullElse(runPreloadingStrategy.get(), smallRunPreloadingStrategy);
+        long startTime = System.nanoTime();
+        Network network = networkStoreService.getNetwork(networkUuid, preloadingStrategy);
+        network.getVariantManager().setWorkingVariant(variantId != null ? variantId : VariantManagerConstants.INITIAL_VARIANT_ID);
+        log.info("Network {} loaded with {} preloading in {} ms", networkUuid, preloadingStrategy, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return network;
+    }
+
+    private void buildInputs(SensitivityAnalysisRunContext runContext, SensitivityAnalysisInputBuilderService.RemoteInputs remoteInputs,
+                             Network network, ReportNode reporter) {
+        long startTime = System.nanoTime();
+        sensitivityAnalysisInputBuilderService.build(runContext, remoteInputs, network, reporter);
+        log.info("Sensitivity inputs built in {} ms with {} remote input requests", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+            remoteInputs.getRequestCount());
+    }
+
     private static SensitivityAnalysisParameters buildParameters(SensitivityAnalysisRunContext context) {
         SensitivityAnalysisParameters params = context.getSensitivityAnalysisInputData().getParameters() == null ?
             new SensitivityAnalysisParameters() : context.getSensitivityAnalysisInputData().getParameters();
@@ -130,31 +208,38 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
         String variantId = runContext.getVariantId() != null ? runContext.getVariantId() : VariantManagerConstants.INITIAL_VARIANT_ID;
 
         SensitivityAnalysisParameters sensitivityAnalysisParameters = buildParameters(runContext);
-        sensitivityAnalysisInputBuilderService.build(runContext, runContext.getNetwork(), runContext.getReportNode());
+        SensitivityAnalysisInputBuilderService.RemoteInputs remoteInputs = resultUuid != null ? prefetchedRemoteInputs.remove(resultUuid) : null;
+        if (remoteInputs == null) {
+            remoteInputs = sensitivityAnalysisInputBuilderService.fetchRemoteInputs(runContext);
+        }
+        buildInputs(runContext, remoteInputs, runContext.getNetwork(), runContext.getReportNode());
 
-        List<List<SensitivityFactor>> groupedFactors = runContext.getSensitivityAnalysisInputs().getFactors();
-        List<Contingency> contingencies = new ArrayList<>(runContext.getSensitivityAnalysisInputs().getContingencies());
+        SensitivityAnalysisInputs inputs = runContext.getSensitivityAnalysisInputs();
+        List<SensitivityFactorsGroup> factorsGroups = inputs.getFactorsGroups();
 
-        saveSensitivityResults(groupedFactors, resultUuid, contingencies);
+        // all the contingencies are saved, but only one of the contingencies with the same outage is simulated
+        saveSensitivityResults(factorsGroups, resultUuid, inputs.getContingencies());
 
-        List<SensitivityFactor> factors = groupedFactors.stream().flatMap(Collection::stream).toList();
-        SensitivityFactorReader sensitivityFactorReader = new SensitivityFactorModelReader(factors, runContext.getNetwork());
-        SensitivityResultPersistedWriter sensitivityResultPersistedWriter = new SensitivityResultPersistedWriter(resultUuid, resultService, scheduledThreadPoolFactory, batchAsyncPollerFactory);
+        SensitivityFactorsGroupReader sensitivityFactorReader = new SensitivityFactorsGroupReader(factorsGroups, inputs.getSimulatedContingencyIds());
+        SensitivityResultPersistedWriter sensitivityResultPersistedWriter = new SensitivityResultPersistedWriter(resultUuid, resultService,
+                new SensitivityFactorsIndex(factorsGroups), scheduledThreadPoolFactory, batchAsyncPollerFactory);
+        SensitivityResultWriter sensitivityResultWriter = new ProviderIndexesResultWriter(sensitivityResultPersistedWriter,
+                sensitivityFactorReader::getFactorIndex, inputs.getFactorContingencyIndexes(), inputs.getAliasContingencyIndexes());
 
         SensitivityAnalysisRunParameters runParameters = new SensitivityAnalysisRunParameters()
-                .setContingencies(contingencies)
+                .setContingencies(inputs.getSimulatedContingencies())
                 .setVariableSets(runContext.getSensitivityAnalysisInputs().getVariablesSets())
                 .setParameters(sensitivityAnalysisParameters)
                 .setComputationManager(executionService.getComputationManager())
                 .setReportNode(runContext.getReportNode());
 
-        return sensitivityAnalysisRunner.runAsync(runContext.getNetwork(), variantId, sensitivityFactorReader, sensitivityResultPersistedWriter, runParameters)
+        return sensitivityAnalysisRunner.runAsync(runContext.getNetwork(), variantId, sensitivityFactorReader, sensitivityResultWriter, runParameters)
                 .thenApply(unused -> Boolean.TRUE)
                 .whenComplete((result, throwable) -> syncWriterCompletion(throwable, sensitivityResultPersistedWriter))
                 .exceptionally(throwable -> handleAsyncError(throwable, runContext));
     }
 
-    private void saveSensitivityResults(List<List<SensitivityFactor>> groupedFactors, UUID resultUuid, List<Contingency> contingencies) {
+    private void saveSensitivityResults(List<SensitivityFactorsGroup> factorsGroups, UUID resultUuid, List<Contingency> contingencies) {
         AnalysisResultEntity analysisResult = resultService.insertAnalysisResult(resultUuid);
 
         Map<String, ContingencyResultEntity> contingencyResults = buildContingencyResults(contingencies, analysisResult);
@@ -162,7 +247,7 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
                 .parallelStream()
                 .forEach(resultService::saveAllContingencyResultsAndFlush);
 
-        Pair<List<SensitivityResultEntity>, List<SensitivityResultEntity>> sensitivityResults = buildSensitivityResults(groupedFactors, analysisResult, contingencyResults);
+        Pair<List<SensitivityResultEntity>, List<SensitivityResultEntity>> sensitivityResults = buildSensitivityResults(factorsGroups, analysisResult, contingencyResults);
         Lists.partition(sensitivityResults.getLeft(), MAX_RESULTS_BUFFER_SIZE)
                 .parallelStream()
                 .forEach(resultService::saveAllResultsAndFlush);
@@ -184,6 +269,12 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
     @Override
     protected void saveResult(Network network, AbstractResultContext<SensitivityAnalysisRunContext> resultContext, Boolean isResultOk) {
         SensitivityAnalysisStatus status = isResultOk.equals(Boolean.TRUE) ? SensitivityAnalysisStatus.COMPLETED : SensitivityAnalysisStatus.FAILED;
+        if (status == SensitivityAnalysisStatus.COMPLETED) {
+            // results are immutable from now on : deltas and contingency impacts can be computed once for all
+            resultService.updateAbsoluteDeltas(resultContext.getResultUuid());
+            resultService.insertContingencyImpacts(resultContext.getResultUuid());
+            resultService.setCompleted(resultContext.getResultUuid());
+        }
         resultService.insertStatus(List.of(resultContext.getResultUuid()), status);
     }
 
@@ -257,8 +348,19 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
         lockRunAndCancel.lock();
         try {
             SensitivityAnalysisParameters sensitivityAnalysisParameters = buildParameters(context);
-            Network network = getNetwork(context.getNetworkUuid(), context.getVariantId());
-            sensitivityAnalysisInputBuilderService.build(context, network, reporter);
+            // the contingency lists and filters are requested while the network is loaded
+            SensitivityAnalysisInputBuilderService.RemoteInputs remoteInputs = sensitivityAnalysisInputBuilderService.fetchRemoteInputs(context);
+            Network network;
+            try {
+                runPreloadingStrategy.set(getPreloadingStrategy(context));
+                network = getNetwork(context.getNetworkUuid(), context.getVariantId());
+            } catch (RuntimeException e) {
+                remoteInputs.cancel();
+                throw e;
+            } finally {
+                runPreloadingStrategy.remove();
+            }
+            buildInputs(context, remoteInputs, network, reporter);
 
             return runAsyncInMemory(context, sensitivityAnalysisRunner, reporter, network, sensitivityAnalysisParameters);
         } finally {
@@ -271,19 +373,21 @@ public class SensitivityAnalysisWorkerService extends AbstractWorkerService<Bool
                                                                           ReportNode reporter,
                                                                           Network network,
                                                                           SensitivityAnalysisParameters parameters) {
-        List<SensitivityFactor> factors = context.getSensitivityAnalysisInputs().getFactors().stream().flatMap(Collection::stream).toList();
-        List<Contingency> contingencies = new ArrayList<>(context.getSensitivityAnalysisInputs().getContingencies());
+        SensitivityAnalysisInputs inputs = context.getSensitivityAnalysisInputs();
+        SensitivityFactorsGroupReader sensitivityFactorReader = new SensitivityFactorsGroupReader(inputs.getFactorsGroups(), inputs.getSimulatedContingencyIds());
+        // the in memory result holds all the factors anyway, on their own contingency rather than the simulated one
+        List<SensitivityFactor> factors = new SensitivityFactorsGroupReader(inputs.getFactorsGroups()).readFactors();
+        List<Contingency> contingencies = inputs.getContingencies();
 
-        SensitivityFactorReader sensitivityFactorReader = new SensitivityFactorModelReader(factors, network);
         SensitivityResultModelWriter writer = new SensitivityResultModelWriter(contingencies, List.of());
 
         CompletableFuture<Void> future = sensitivityAnalysisRunner.runAsync(
                 network,
                 context.getVariantId() != null ? context.getVariantId() : VariantManagerConstants.INITIAL_VARIANT_ID,
                 sensitivityFactorReader,
-                writer,
-                contingencies,
-                context.getSensitivityAnalysisInputs().getVariablesSets(),
+                new ProviderIndexesResultWriter(writer, sensitivityFactorReader::getFactorIndex, inputs.getFactorContingencyIndexes(), inputs.getAliasContingencyIndexes()),
+                inputs.getSimulatedContingencies(),
+                inputs.getVariablesSets(),
                 parameters,
                 executionService.getComputationManager(),
                 reporter);
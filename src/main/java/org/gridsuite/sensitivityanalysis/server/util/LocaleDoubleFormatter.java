@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * Formats doubles the way a {@link java.text.NumberFormat} without grouping does (half-even rounding to a maximum
+ * number of fraction digits, no trailing zeros), but writes the digits directly into a {@link Writer} without
+ * allocating.
+ * Instances keep a reusable buffer so they are not thread safe : one formatter must be used by one thread at a time.
+ */
+public final class LocaleDoubleFormatter {
+
+    public static final int DEFAULT_MAX_FRACTION_DIGITS = 3;
+
+    private static final char DECIMAL_SEPARATOR_FR = ',';
+    private static final char DECIMAL_SEPARATOR_EN = '.';
+    // above this value the scaled double can no longer be split exactly into integer and fraction parts
+    private static final double MAX_FAST_PATH_SCALED_VALUE = 0x1p52;
+
+    private final char decimalSeparator;
+    private final int maxFractionDigits;
+    private final long scale;
+    private final char[] buffer = new char[32];
+    private final NumberFormat fallbackFormat;
+
+    public LocaleDoubleFormatter(char decimalSeparator, int maxFractionDigits) {
+        if (maxFractionDigits < 0 || maxFractionDigits > 9) {
+            throw new IllegalArgumentException("The maximum number of fraction digits must be between 0 and 9");
+        }
+        this.decimalSeparator = decimalSeparator;
+        this.maxFractionDigits = maxFractionDigits;
+        long s = 1;
+        for (int i = 0; i < maxFractionDigits; i++) {
+            s *= 10;
+        }
+        this.scale = s;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.ROOT);
+        symbols.setDecimalSeparator(decimalSeparator);
+        this.fallbackFormat = new DecimalFormat("0", symbols);
+        fallbackFormat.setMaximumFractionDigits(maxFractionDigits);
+        fallbackFormat.setGroupingUsed(false);
+    }
+
+    public static LocaleDoubleFormatter forLanguage(String language) {
+        return new LocaleDoubleFormatter("fr".equals(language) ? DECIMAL_SEPARATOR_FR : DECIMAL_SEPARATOR_EN, DEFAULT_MAX_FRACTION_DIGITS);
+    }
+
+    public void write(double value, Writer writer) throws IOException {
+        double abs = Math.abs(value);
+        double scaled = abs * scale;
+        double fraction = scaled - Math.floor(scaled);
+        // the product may be off by half an ulp, so values close to a rounding tie (and NaN, infinite or huge values)
+        // are left to the number format rounding rules : this is rare enough not to matter for the allocations
+        if (!(scaled < MAX_FAST_PATH_SCALED_VALUE) || Math.abs(fraction - 0.5) <= Math.ulp(scaled)) {
+            writer.write(fallbackFormat.format(value));
+            return;
+        }
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+
+        long units = (long) Math.rint(scaled);
+        long integerPart = units / scale;
+        long fractionPart = units % scale;
+        int pos = buffer.length;
+        if (fractionPart != 0) {
+            int digits = maxFractionDigits;
+            while (fractionPart % 10 == 0) {
+                fractionPart /= 10;
+                digits--;
+            }
+            for (int i = 0; i < digits; i++) {
+                buffer[--pos] = (char) ('0' + fractionPart % 10);
+                fractionPart /= 10;
+            }
+            buffer[--pos] = decimalSeparator;
+        }
+        do {
+            buffer[--pos] = (char) ('0' + integerPart % 10);
+            integerPart /= 10;
+        } while (integerPart != 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        writer.write(buffer, pos, buffer.length - pos);
+    }
+
+    public String format(double value) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(value, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
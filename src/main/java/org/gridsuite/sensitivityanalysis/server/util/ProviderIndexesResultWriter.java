@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import com.powsybl.sensitivity.SensitivityAnalysisResult;
+import com.powsybl.sensitivity.SensitivityResultWriter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Translates the indexes given by the provider back to the indexes of the results : the factors are read by the
+ * provider in another order than their index, see {@link SensitivityFactorsGroupReader#getFactorIndex}, and the status
+ * of each simulated contingency is written to its aliases too. The sensitivity values need no fan-out, as the factors
+ * on the aliases are read on their own, but they are given by the provider on the simulated contingency : their
+ * contingency index is the one of the contingency of their factor.
+ */
+public class ProviderIndexesResultWriter implements SensitivityResultWriter {
+
+    private final SensitivityResultWriter delegate;
+    private final IntUnaryOperator factorIndexes;
+    private final IntUnaryOperator factorContingencyIndexes;
+    private final Map<Integer, List<Integer>> aliasContingencyIndexes;
+
+    /**
+     * @param factorContingencyIndexes the index of the contingency of a factor, by factor index
+     */
+    public ProviderIndexesResultWriter(SensitivityResultWriter delegate, IntUnaryOperator factorIndexes,
+                                       IntUnaryOperator factorContingencyIndexes, Map<Integer, List<Integer>> aliasContingencyIndexes) {
+        this.delegate = delegate;
+        this.factorIndexes = factorIndexes;
+        this.factorContingencyIndexes = factorContingencyIndexes;
+        this.aliasContingencyIndexes = aliasContingencyIndexes;
+    }
+
+    @Override
+    public void writeSensitivityValue(int factorIndex, int contingencyIndex, int operatorStrategyIndex, double value, double functionReference) {
+        int index = factorIndexes.applyAsInt(factorIndex);
+        int resultContingencyIndex = contingencyIndex >= 0 && aliasContingencyIndexes.containsKey(contingencyIndex)
+            ? factorContingencyIndexes.applyAsInt(index)
+            : contingencyIndex;
+        delegate.writeSensitivityValue(index, resultContingencyIndex, operatorStrategyIndex, value, functionReference);
+    }
+
+    @Override
+    public void writeStateStatus(int contingencyIndex, int operatorStrategyIndex, SensitivityAnalysisResult.Status status) {
+        delegate.writeStateStatus(contingencyIndex, operatorStrategyIndex, status);
+        aliasContingencyIndexes.getOrDefault(contingencyIndex, List.of())
+            .forEach(aliasIndex -> delegate.writeStateStatus(aliasIndex, operatorStrategyIndex, status));
+    }
+}
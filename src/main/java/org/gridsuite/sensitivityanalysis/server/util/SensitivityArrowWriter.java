@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.pojo.*;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityOfTo;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityWithContingency;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes sensitivities as an Arrow IPC file, for analytics tools : the function, variable and contingency ids are
+ * dictionary encoded against the ids given upfront, and the values are kept as native doubles.
+ * Rows are written by batches, so that the memory used does not depend on the number of sensitivities.
+ * The column names are functionId, variableId, varIsAFilter, functionReference and value, followed for post-contingency
+ * sensitivities by contingencyId, functionReferenceAfter and valueAfter. The given metadata are written in the schema.
+ */
+public final class SensitivityArrowWriter implements AutoCloseable {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.apache.arrow.file";
+
+    private static final int BATCH_SIZE = 65_536;
+    private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+
+    private final BufferAllocator allocator = new RootAllocator();
+    private final DictionaryProvider.MapDictionaryProvider dictionaryProvider = new DictionaryProvider.MapDictionaryProvider();
+    private final List<FieldVector> dictionaryVectors = new ArrayList<>();
+    private final Map<String, Integer> functionIndexes = new HashMap<>();
+    private final Map<String, Integer> variableIndexes = new HashMap<>();
+    private final Map<String, Integer> contingencyIndexes = new HashMap<>();
+    private final boolean withContingency;
+    private final VectorSchemaRoot root;
+    private final ArrowFileWriter writer;
+    private final IntVector functionIdVector;
+    private final IntVector variableIdVector;
+    private final BitVector varIsAFilterVector;
+    private final Float8Vector functionReferenceVector;
+    private final Float8Vector valueVector;
+    private final IntVector contingencyIdVector;
+    private final Float8Vector functionReferenceAfterVector;
+    private final Float8Vector valueAfterVector;
+    private int rowCount;
+
+    public SensitivityArrowWriter(OutputStream outputStream, boolean withContingency,
+                                  List<String> functionIds, List<String> variableIds, List<String> contingencyIds) {
+        this(outputStream, withContingency, functionIds, variableIds, contingencyIds, Map.of());
+    }
+
+    public SensitivityArrowWriter(OutputStream outputStream, boolean withContingency,
+                                  List<String> functionIds, List<String> variableIds, List<String> contingencyIds,
+                                  Map<String, String> metadata) {
+        this.withContingency = withContingency;
+        List<Field> fields = new ArrayList<>();
+        fields.add(createDictionaryField("functionId", 0, functionIds, functionIndexes));
+        fields.add(createDictionaryField("variableId", 1, variableIds, variableIndexes));
+        fields.add(Field.notNullable("varIsAFilter", ArrowType.Bool.INSTANCE));
+        fields.add(Field.notNullable("functionReference", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)));
+        fields.add(Field.notNullable("value", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)));
+        if (withContingency) {
+            fields.add(createDictionaryField("contingencyId", 2, contingencyIds, contingencyIndexes));
+            fields.add(Field.notNullable("functionReferenceAfter", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)));
+            fields.add(Field.notNullable("valueAfter", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)));
+        }
+        root = VectorSchemaRoot.create(new Schema(fields, metadata), allocator);
+        root.allocateNew();
+        functionIdVector = (IntVector) root.getVector("functionId");
+        variableIdVector = (IntVector) root.getVector("variableId");
+        varIsAFilterVector = (BitVector) root.getVector("varIsAFilter");
+        functionReferenceVector = (Float8Vector) root.getVector("functionReference");
+        valueVector = (Float8Vector) root.getVector("value");
+        contingencyIdVector = (IntVector) root.getVector("contingencyId");
+        functionReferenceAfterVector = (Float8Vector) root.getVector("functionReferenceAfter");
+        valueAfterVector = (Float8Vector) root.getVector("valueAfter");
+        writer = new ArrowFileWriter(root, dictionaryProvider, Channels.newChannel(outputStream));
+    }
+
+    public void start() throws IOException {
+        writer.start();
+    }
+
+    public void write(SensitivityOfTo sensitivity) throws IOException {
+        functionIdVector.setSafe(rowCount, getIndex(functionIndexes, sensitivity.getFuncId()));
+        variableIdVector.setSafe(rowCount, getIndex(variableIndexes, sensitivity.getVarId()));
+        varIsAFilterVector.setSafe(rowCount, sensitivity.isVarIsAFilter() ? 1 : 0);
+        functionReferenceVector.setSafe(rowCount, sensitivity.getFunctionReference());
+        valueVector.setSafe(rowCount, sensitivity.getValue());
+        if (withContingency) {
+            SensitivityWithContingency sensitivityWithContingency = (SensitivityWithContingency) sensitivity;
+            contingencyIdVector.setSafe(rowCount, getIndex(contingencyIndexes, sensitivityWithContingency.getContingencyId()));
+            functionReferenceAfterVector.setSafe(rowCount, sensitivityWithContingency.getFunctionReferenceAfter());
+            valueAfterVector.setSafe(rowCount, sensitivityWithContingency.getValueAfter());
+        }
+        rowCount++;
+        if (rowCount == BATCH_SIZE) {
+            writeBatch();
+        }
+    }
+
+    /**
+     * Writes the last rows and the file footer
+     */
+    public void finish() throws IOException {
+        if (rowCount > 0) {
+            writeBatch();
+        }
+        writer.end();
+    }
+
+    @Override
+    public void close() {
+        try {
+            AutoCloseables.close(writer, root);
+            AutoCloseables.close(dictionaryVectors);
+            allocator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(rowCount);
+        writer.writeBatch();
+        root.clear();
+        root.allocateNew();
+        rowCount = 0;
+    }
+
+    private Field createDictionaryField(String name, long dictionaryId, List<String> ids, Map<String, Integer> indexes) {
+        VarCharVector dictionaryVector = new VarCharVector(name + "Dictionary", allocator);
+        dictionaryVectors.add(dictionaryVector);
+        dictionaryVector.allocateNew(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            dictionaryVector.setSafe(i, ids.get(i).getBytes(StandardCharsets.UTF_8));
+            indexes.put(ids.get(i), i);
+        }
+        dictionaryVector.setValueCount(ids.size());
+        DictionaryEncoding encoding = new DictionaryEncoding(dictionaryId, false, INDEX_TYPE);
+        dictionaryProvider.put(new Dictionary(dictionaryVector, encoding));
+        return new Field(name, new FieldType(false, INDEX_TYPE, encoding), null);
+    }
+
+    private static int getIndex(Map<String, Integer> indexes, String id) {
+        Integer index = indexes.get(id);
+        if (index == null) {
+            throw new IllegalStateException("Id '" + id + "' is missing from the dictionary");
+        }
+        return index;
+    }
+}
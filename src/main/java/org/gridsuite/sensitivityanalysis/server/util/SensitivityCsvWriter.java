@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityOfTo;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityWithContingency;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes sensitivity rows as csv directly into a buffered writer : numbers are formatted in place by a
+ * {@link LocaleDoubleFormatter} instead of going through an intermediate string per cell.
+ * Text values are trimmed and quoted only when they contain the delimiter, the quote or a line break, NaN values
+ * are written as empty cells.
+ */
+public final class SensitivityCsvWriter implements Flushable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final char delimiter;
+    private final char quote;
+    private final String lineSeparator;
+    private final LocaleDoubleFormatter formatter;
+
+    public SensitivityCsvWriter(OutputStream outputStream, char delimiter, char quote, LocaleDoubleFormatter formatter) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.delimiter = delimiter;
+        this.quote = quote;
+        this.lineSeparator = System.lineSeparator();
+        this.formatter = formatter;
+    }
+
+    public void writeHeaders(List<String> headers) throws IOException {
+        for (int i = 0; i < headers.size(); i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writeText(headers.get(i));
+        }
+        writer.write(lineSeparator);
+    }
+
+    /**
+     * Writes the contingency and post-contingency columns as well when the sensitivity is a {@link SensitivityWithContingency}
+     */
+    public void writeRow(SensitivityOfTo sensitivity) throws IOException {
+        if (sensitivity instanceof SensitivityWithContingency sensitivityWithContingency) {
+            writeRowWithContingency(sensitivityWithContingency);
+            return;
+        }
+        writeText(sensitivity.getFuncId());
+        writer.write(delimiter);
+        writeText(sensitivity.getVarId());
+        writer.write(delimiter);
+        writeNumber(sensitivity.getFunctionReference());
+        writer.write(delimiter);
+        writeNumber(sensitivity.getValue());
+        writer.write(lineSeparator);
+    }
+
+    private void writeRowWithContingency(SensitivityWithContingency sensitivity) throws IOException {
+        writeText(sensitivity.getFuncId());
+        writer.write(delimiter);
+        writeText(sensitivity.getVarId());
+        writer.write(delimiter);
+        writeText(sensitivity.getContingencyId());
+        writer.write(delimiter);
+        writeNumber(sensitivity.getFunctionReference());
+        writer.write(delimiter);
+        writeNumber(sensitivity.getValue());
+        writer.write(delimiter);
+        writeNumber(sensitivity.getFunctionReferenceAfter());
+        writer.write(delimiter);
+        writeNumber(sensitivity.getValueAfter());
+        writer.write(lineSeparator);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeNumber(double value) throws IOException {
+        if (!Double.isNaN(value)) {
+            formatter.write(value, writer);
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.trim();
+        if (!needsQuotes(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write(quote);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == quote) {
+                writer.write(quote);
+            }
+            writer.write(c);
+        }
+        writer.write(quote);
+    }
+
+    private boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == delimiter || c == quote || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import com.powsybl.sensitivity.SensitivityVariableType;
+
+import java.util.List;
+
+/**
+ * Describes the sensitivity factors of one group of the parameters without materialising them : for each function id,
+ * then for each variable id, the pre-contingency factor followed by one factor per contingency.
+ * The factors are indexed in this order, group after group.
+ */
+public record SensitivityFactorsGroup(SensitivityFunctionType functionType,
+                                      List<String> functionIds,
+                                      SensitivityVariableType variableType,
+                                      List<String> variableIds,
+                                      boolean variableSet,
+                                      List<String> contingencyIds) {
+
+    public SensitivityFactorsGroup {
+        functionIds = List.copyOf(functionIds);
+        variableIds = List.copyOf(variableIds);
+        contingencyIds = List.copyOf(contingencyIds);
+    }
+
+    public long getFactorCount() {
+        return (long) functionIds.size() * variableIds.size() * (contingencyIds.size() + 1);
+    }
+}
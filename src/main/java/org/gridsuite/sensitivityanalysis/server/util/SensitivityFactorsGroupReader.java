@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import com.powsybl.contingency.ContingencyContext;
+import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.sensitivity.SensitivityFactorReader;
+import com.powsybl.sensitivity.SensitivityVariableType;
+
+import java.util.*;
+
+/**
+ * Generates the sensitivity factors of the groups while they are read, so that the whole factors list is never held
+ * in memory. The factors on a contingency which is an alias of a simulated one are read on the simulated one.
+ * <p>
+ * The factors are indexed in the order described by {@link SensitivityFactorsGroup}, but they are read grouped by
+ * contingency, the pre-contingency ones first, then by variable across the groups : the providers handle the factors
+ * of a contingency or of a variable together. {@link #getFactorIndex} translates the index of a factor in the read
+ * order, which is the one given by the provider, back to its index.
+ * </p>
+ */
+public class SensitivityFactorsGroupReader implements SensitivityFactorReader {
+
+    private record Variable(SensitivityVariableType type, String id, boolean variableSet) {
+    }
+
+    private record GroupVariable(int groupIndex, int variableIndex) {
+    }
+
+    private final List<SensitivityFactorsGroup> factorsGroups;
+    private final Map<String, String> simulatedContingencyIds;
+    private volatile int[] factorIndexes;
+
+    public SensitivityFactorsGroupReader(List<SensitivityFactorsGroup> factorsGroups) {
+        this(factorsGroups, Map.of());
+    }
+
+    public SensitivityFactorsGroupReader(List<SensitivityFactorsGroup> factorsGroups, Map<String, String> simulatedContingencyIds) {
+        this.factorsGroups = factorsGroups;
+        this.simulatedContingencyIds = simulatedContingencyIds;
+    }
+
+    @Override
+    public void read(Handler handler) {
+        int[] groupOffsets = new int[factorsGroups.size()];
+        int factorCount = 0;
+        Map<Variable, List<GroupVariable>> variables = new LinkedHashMap<>();
+        // positions of the contingencies in the groups, by simulated contingency id then by group index
+        Map<String, Map<Integer, List<Integer>>> contingencyPositions = new LinkedHashMap<>();
+        for (int groupIndex = 0; groupIndex < factorsGroups.size(); groupIndex++) {
+            SensitivityFactorsGroup factorsGroup = factorsGroups.get(groupIndex);
+            groupOffsets[groupIndex] = factorCount;
+            factorCount = Math.toIntExact(factorCount + factorsGroup.getFactorCount());
+            for (int variableIndex = 0; variableIndex < factorsGroup.variableIds().size(); variableIndex++) {
+                variables.computeIfAbsent(new Variable(factorsGroup.variableType(), factorsGroup.variableIds().get(variableIndex), factorsGroup.variableSet()), variable -> new ArrayList<>())
+                    .add(new GroupVariable(groupIndex, variableIndex));
+            }
+            for (int position = 0; position < factorsGroup.contingencyIds().size(); position++) {
+                String contingencyId = factorsGroup.contingencyIds().get(position);
+                contingencyPositions.computeIfAbsent(simulatedContingencyIds.getOrDefault(contingencyId, contingencyId), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(groupIndex, index -> new ArrayList<>())
+                    .add(position);
+            }
+        }
+
+        int[] indexes = new int[factorCount];
+        int readIndex = 0;
+        for (List<GroupVariable> groupVariables : variables.values()) {
+            for (GroupVariable groupVariable : groupVariables) {
+                readIndex = readFactors(handler, groupVariable, -1, ContingencyContext.none(), groupOffsets, indexes, readIndex);
+            }
+        }
+        for (Map.Entry<String, Map<Integer, List<Integer>>> contingency : contingencyPositions.entrySet()) {
+            ContingencyContext contingencyContext = ContingencyContext.specificContingency(contingency.getKey());
+            for (List<GroupVariable> groupVariables : variables.values()) {
+                for (GroupVariable groupVariable : groupVariables) {
+                    for (int position : contingency.getValue().getOrDefault(groupVariable.groupIndex(), List.of())) {
+                        readIndex = readFactors(handler, groupVariable, position, contingencyContext, groupOffsets, indexes, readIndex);
+                    }
+                }
+            }
+        }
+        factorIndexes = indexes;
+    }
+
+    private int readFactors(Handler handler, GroupVariable groupVariable, int contingencyPosition, ContingencyContext contingencyContext,
+                            int[] groupOffsets, int[] indexes, int readIndex) {
+        SensitivityFactorsGroup factorsGroup = factorsGroups.get(groupVariable.groupIndex());
+        String variableId = factorsGroup.variableIds().get(groupVariable.variableIndex());
+        int variableCount = factorsGroup.variableIds().size();
+        int contingencyCount = factorsGroup.contingencyIds().size();
+        int nextReadIndex = readIndex;
+        for (int functionIndex = 0; functionIndex < factorsGroup.functionIds().size(); functionIndex++) {
+            handler.onFactor(factorsGroup.functionType(), factorsGroup.functionIds().get(functionIndex), factorsGroup.variableType(), variableId,
+                factorsGroup.variableSet(), contingencyContext);
+            indexes[nextReadIndex++] = groupOffsets[groupVariable.groupIndex()]
+                + (functionIndex * variableCount + groupVariable.variableIndex()) * (contingencyCount + 1)
+                + contingencyPosition + 1;
+        }
+        return nextReadIndex;
+    }
+
+    /**
+     * @return the index of the factor read at the given position, only once the factors have been read
+     */
+    public int getFactorIndex(int readIndex) {
+        return factorIndexes[readIndex];
+    }
+
+    /**
+     * Materialises all the factors by index, only for the callers which need them as a list
+     */
+    public List<SensitivityFactor> readFactors() {
+        List<SensitivityFactor> factors = new ArrayList<>();
+        read((functionType, functionId, variableType, variableId, variableSet, contingencyContext) ->
+            factors.add(new SensitivityFactor(functionType, functionId, variableType, variableId, variableSet, contingencyContext)));
+        SensitivityFactor[] factorsByIndex = new SensitivityFactor[factors.size()];
+        for (int readIndex = 0; readIndex < factors.size(); readIndex++) {
+            factorsByIndex[getFactorIndex(readIndex)] = factors.get(readIndex);
+        }
+        return Arrays.asList(factorsByIndex);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves the function type, the pre or post-contingency nature and the contingency of a persisted factor index from
+ * the {@link SensitivityFactorsGroup}s, without materialising the factors. These are denormalized on the raw results so
+ * that the sorted reads of one tab can seek on their indexes.
+ */
+public final class SensitivityFactorsIndex {
+
+    private final List<SensitivityFactorsGroup> factorsGroups;
+
+    private final long[] groupOffsets;
+
+    public SensitivityFactorsIndex(List<SensitivityFactorsGroup> factorsGroups) {
+        this.factorsGroups = List.copyOf(factorsGroups);
+        this.groupOffsets = new long[factorsGroups.size()];
+        long offset = 0;
+        for (int i = 0; i < factorsGroups.size(); i++) {
+            groupOffsets[i] = offset;
+            offset += factorsGroups.get(i).getFactorCount();
+        }
+    }
+
+    public SensitivityFunctionType getFunctionType(int factorIndex) {
+        return factorsGroups.get(getGroupIndex(factorIndex)).functionType();
+    }
+
+    public boolean isPostContingency(int factorIndex) {
+        return getContingencyPosition(getGroupIndex(factorIndex), factorIndex) >= 0;
+    }
+
+    /**
+     * @return the id of the contingency of the factor, null for a pre-contingency factor
+     */
+    public String getContingencyId(int factorIndex) {
+        int groupIndex = getGroupIndex(factorIndex);
+        int position = getContingencyPosition(groupIndex, factorIndex);
+        return position >= 0 ? factorsGroups.get(groupIndex).contingencyIds().get(position) : null;
+    }
+
+    private int getContingencyPosition(int groupIndex, int factorIndex) {
+        // in a group, each pre-contingency factor is followed by one factor per contingency
+        return (int) ((factorIndex - groupOffsets[groupIndex]) % (factorsGroups.get(groupIndex).contingencyIds().size() + 1)) - 1;
+    }
+
+    private int getGroupIndex(int factorIndex) {
+        int position = Arrays.binarySearch(groupOffsets, factorIndex);
+        // several groups may start at the same offset when some of them are empty, the last one holds the factor
+        if (position >= 0) {
+            while (position + 1 < groupOffsets.length && groupOffsets[position + 1] == factorIndex) {
+                position++;
+            }
+            return position;
+        }
+        return -position - 2;
+    }
+}
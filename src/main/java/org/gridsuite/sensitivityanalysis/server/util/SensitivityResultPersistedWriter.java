@@ -31,10 +31,11 @@ public class SensitivityResultPersistedWriter implements SensitivityResultWriter
     private final BatchAsyncPoller<SensitivityValue> sensitivityBatchAsyncPoller;
     private final BatchAsyncPoller<ContingencyResult> contingencyBatchAsyncPoller;
 
-    public SensitivityResultPersistedWriter(UUID resultUuid, SensitivityAnalysisResultService sensitivityAnalysisResultService,
+    public SensitivityResultPersistedWriter(UUID resultUuid, SensitivityAnalysisResultService sensitivityAnalysisResultService, SensitivityFactorsIndex factorsIndex,
                                             ScheduledThreadPoolFactory scheduledThreadPoolFactory, BatchAsyncPollerFactory batchAsyncPollerFactory) {
         this.scheduledExecutorService = scheduledThreadPoolFactory.create(THREAD_POOL_SIZE, resultUuid);
-        this.sensitivityBatchAsyncPoller = batchAsyncPollerFactory.create(this.scheduledExecutorService, resultUuid, SENSITIVITY_WRITER_THREAD, sensitivityAnalysisResultService::writeSensitivityValues);
+        this.sensitivityBatchAsyncPoller = batchAsyncPollerFactory.create(this.scheduledExecutorService, resultUuid, SENSITIVITY_WRITER_THREAD,
+            (uuid, values) -> sensitivityAnalysisResultService.writeSensitivityValues(uuid, values, factorsIndex));
         this.contingencyBatchAsyncPoller = batchAsyncPollerFactory.create(this.scheduledExecutorService, resultUuid, CONTINGENCY_WRITER_THREAD, sensitivityAnalysisResultService::writeContingenciesStatus);
     }
 
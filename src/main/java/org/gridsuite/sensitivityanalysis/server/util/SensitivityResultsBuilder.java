@@ -7,7 +7,6 @@
 package org.gridsuite.sensitivityanalysis.server.util;
 
 import com.powsybl.contingency.Contingency;
-import com.powsybl.sensitivity.SensitivityFactor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.gridsuite.sensitivityanalysis.server.entities.AnalysisResultEntity;
 import org.gridsuite.sensitivityanalysis.server.entities.ContingencyResultEntity;
@@ -16,7 +15,6 @@ import org.gridsuite.sensitivityanalysis.server.entities.SensitivityResultEntity
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -25,11 +23,11 @@ import java.util.stream.IntStream;
  * @author Joris Mancini <joris.mancini_externe at rte-france.com>
  * <p>
  * It Builds the entities based on groups of factors and a list of contingencies.
- * Each group of factors requires a certain structure, starting with the pre-contingency sensitivity factor with
- * contingency context NONE, then all the contingencies for the same couple (functionId, variableId) with
- * contingency context SPECIFIC. This is currently the case because this is how it is built in
- * SensitivityAnalysisInputBuilderService. Anyway, the way the DB model is built kind of depends on this structure too.
- * So this should not be changed, except deep refactoring.
+ * The entities are indexed in the order of the factors described by {@link SensitivityFactorsGroup} : for each
+ * couple (functionId, variableId), the pre-contingency sensitivity factor with contingency context NONE, then all the
+ * contingencies with contingency context SPECIFIC. The way the DB model is built kind of depends on this structure too.
+ * So this should not be changed, except deep refactoring. The provider reads the factors in another order, translated
+ * back to these indexes by {@link SensitivityFactorsGroupReader#getFactorIndex}.
  * </p>
  */
 public final class SensitivityResultsBuilder {
@@ -48,56 +46,53 @@ public final class SensitivityResultsBuilder {
             ));
     }
 
-    public static Pair<List<SensitivityResultEntity>, List<SensitivityResultEntity>> buildSensitivityResults(List<List<SensitivityFactor>> factorsGroups,
+    public static Pair<List<SensitivityResultEntity>, List<SensitivityResultEntity>> buildSensitivityResults(List<SensitivityFactorsGroup> factorsGroups,
                                                                                                              AnalysisResultEntity analysisResult,
                                                                                                              Map<String, ContingencyResultEntity> contingenciesById) {
         List<SensitivityResultEntity> preContingencySensitivityResults = new ArrayList<>();
         List<SensitivityResultEntity> postContingencySensitivityResults = new ArrayList<>();
 
-        AtomicInteger factorCounter = new AtomicInteger(0);
-        factorsGroups.forEach(factorsGroup -> {
-            if (factorsGroup.isEmpty()) {
-                return;
-            }
-
-            // For the information we need to create the entities, all the sensitivity factors of a group are equivalent
-            // So we can keep the pre-contingency sensitivity factor.
-            SensitivityFactor preContingencySensitivityfactor = factorsGroup.get(0);
-            SensitivityResultEntity preContingencySensitivityResult = buildNSensitivityResultEntity(
-                analysisResult,
-                preContingencySensitivityfactor,
-                factorCounter.getAndIncrement());
+        int factorCounter = 0;
+        for (SensitivityFactorsGroup factorsGroup : factorsGroups) {
+            List<ContingencyResultEntity> contingencyResults = factorsGroup.contingencyIds().stream().map(contingenciesById::get).toList();
+            for (String functionId : factorsGroup.functionIds()) {
+                for (String variableId : factorsGroup.variableIds()) {
+                    SensitivityResultEntity preContingencySensitivityResult = buildNSensitivityResultEntity(
+                        analysisResult,
+                        factorsGroup,
+                        functionId,
+                        variableId,
+                        factorCounter++);
 
-            preContingencySensitivityResults.add(preContingencySensitivityResult);
+                    // All the results are returned, even if the pre-contingency ones referenced by post-contingency
+                    // results would also be saved by JPA cascading persist operation.
+                    preContingencySensitivityResults.add(preContingencySensitivityResult);
 
-            // No need to return preContingencySensitivityResult if it's not the only result in the group because it will be saved
-            // by JPA cascading persist operation (as it is referenced in the sensitivity results of the contingencies).
-            // But if it is the only one we should return it explicitly.
-            if (factorsGroup.size() == 1) {
-                return;
+                    for (ContingencyResultEntity contingencyResult : contingencyResults) {
+                        postContingencySensitivityResults.add(buildNKSensitivityResultEntity(
+                            analysisResult,
+                            preContingencySensitivityResult,
+                            contingencyResult,
+                            factorCounter++));
+                    }
+                }
             }
-
-            // We should skip the first element as we want to only keep contingency related factors here
-            postContingencySensitivityResults.addAll(factorsGroup.subList(1, factorsGroup.size()).stream()
-                .map(sensitivityFactor -> buildNKSensitivityResultEntity(
-                    analysisResult,
-                    preContingencySensitivityResult,
-                    contingenciesById.get(sensitivityFactor.getContingencyContext().getContingencyId()),
-                    factorCounter.getAndIncrement())).toList());
-        });
+        }
         return Pair.of(preContingencySensitivityResults, postContingencySensitivityResults);
     }
 
     private static SensitivityResultEntity buildNSensitivityResultEntity(AnalysisResultEntity analysisResult,
-                                                                         SensitivityFactor factor,
+                                                                         SensitivityFactorsGroup factorsGroup,
+                                                                         String functionId,
+                                                                         String variableId,
                                                                          int index) {
         return new SensitivityResultEntity(
             index,
-            factor.getFunctionType(),
-            factor.getFunctionId(),
-            factor.getVariableType(),
-            factor.getVariableId(),
-            factor.isVariableSet(),
+            factorsGroup.functionType(),
+            functionId,
+            factorsGroup.variableType(),
+            variableId,
+            factorsGroup.variableSet(),
             analysisResult,
             null,
             null
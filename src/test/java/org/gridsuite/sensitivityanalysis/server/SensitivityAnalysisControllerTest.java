@@ -23,6 +23,15 @@ import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
 import com.powsybl.sensitivity.SensitivityAnalysisResult;
 import com.powsybl.sensitivity.SensitivityFunctionType;
 import lombok.SneakyThrows;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
 import org.gridsuite.computation.dto.GlobalFilter;
 import org.gridsuite.computation.dto.ResourceFilterDTO;
 import org.gridsuite.sensitivityanalysis.server.dto.*;
@@ -34,15 +43,18 @@ import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultsSelect
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.SortKey;
 import org.gridsuite.sensitivityanalysis.server.repositories.TestRepository;
 import org.gridsuite.sensitivityanalysis.server.service.*;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityArrowWriter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.stream.binder.test.OutputDestination;
 import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.messaging.Message;
 import org.springframework.test.context.ContextConfiguration;
@@ -53,10 +65,15 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.NumberFormat;
 import java.util.*;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -71,6 +88,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -119,6 +137,12 @@ class SensitivityAnalysisControllerTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private SensitivityAnalysisExportService exportService;
+
+    @Value("${sensitivity-analysis.export.directory:${java.io.tmpdir}/sensitivity-analysis-exports}")
+    private Path exportDirectory;
+
     @MockitoBean
     private NetworkStoreService networkStoreService;
 
@@ -144,10 +168,17 @@ class SensitivityAnalysisControllerTest {
         given(networkStoreService.getNetwork(NETWORK_FAILED_UUID, PreloadingStrategy.COLLECTION)).willReturn(failedNetwork);
         given(networkStoreService.getNetwork(NETWORK_ERROR_UUID, PreloadingStrategy.COLLECTION)).willThrow(new RuntimeException(ERROR_MESSAGE));
 
-        given(actionsService.getContingencyList(eq(List.of(CONTINGENCY1_CONTAINER_UUID, CONTINGENCY2_CONTAINER_UUID)), any(), any())).willReturn(new ContingencyListExportResult(List.of(CONTINGENCY1, CONTINGENCY2), List.of()));
-        given(filterService.getIdentifiablesFromFilters(eq(List.of(GEN1_CONTAINER_UUID, GEN2_CONTAINER_UUID)), any(), any())).willReturn(List.of(GEN1, GEN2));
-        given(filterService.getIdentifiablesFromFilters(eq(List.of(BRANCH1_CONTAINER_UUID, BRANCH2_CONTAINER_UUID)), any(), any())).willReturn(List.of(BRANCH1, BRANCH2));
-        given(filterService.getIdentifiablesFromFilters(eq(List.of(GEN1_CONTAINER_UUID, GEN2_CONTAINER_UUID)), any(), any())).willReturn(List.of(GEN1, GEN2));
+        given(actionsService.getContingencyList(eq(List.of(CONTINGENCY1_CONTAINER_UUID)), any(), any())).willReturn(new ContingencyListExportResult(List.of(CONTINGENCY1), List.of()));
+        given(actionsService.getContingencyList(eq(List.of(CONTINGENCY2_CONTAINER_UUID)), any(), any())).willReturn(new ContingencyListExportResult(List.of(CONTINGENCY2), List.of()));
+        Map<UUID, List<IdentifiableAttributes>> filtersEquipments = Map.of(
+                GEN1_CONTAINER_UUID, List.of(GEN1),
+                GEN2_CONTAINER_UUID, List.of(GEN2),
+                BRANCH1_CONTAINER_UUID, List.of(BRANCH1),
+                BRANCH2_CONTAINER_UUID, List.of(BRANCH2));
+        given(filterService.getFilterEquipments(anyList(), any(), any())).willAnswer(invocation -> invocation.<List<UUID>>getArgument(0).stream()
+                .filter(filtersEquipments::containsKey)
+                .map(filterId -> new FilterEquipments(filterId, filtersEquipments.get(filterId), List.of()))
+                .toList());
 
         FactorCount mockedFactorCount = new FactorCount(10, 1000);
         given(sensitivityAnalysisFactorCountService.getFactorCount(any(), any(), any(), any(), any(), any(), any(), anyBoolean())).willReturn(mockedFactorCount);
@@ -273,6 +304,114 @@ class SensitivityAnalysisControllerTest {
         assertEquals(0, nWithTypeFilterResult.getAllVariableIds().size());
     }
 
+    @Test
+    void conditionalGetTest() throws Exception {
+        UUID resultUuid = run(parametersUuid);
+        checkComputationSucceeded(resultUuid);
+
+        String selector = mapper.writeValueAsString(ResultsSelector.builder()
+                .tabSelection(ResultTab.N)
+                .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+                .build());
+        MvcResult result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid).param("selector", selector))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid).param("selector", selector)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(0, result.getResponse().getContentLength());
+
+        // another selector is another representation
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid).param("selector", selector.replace("BRANCH_ACTIVE_POWER_1", "BRANCH_CURRENT_1"))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/filter-options", resultUuid).param("selector", selector))
+                .andExpect(status().isOk())
+                .andReturn();
+        String filterOptionsETag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(filterOptionsETag);
+        assertNotEquals(eTag, filterOptionsETag);
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/filter-options", resultUuid).param("selector", selector)
+                        .header(HttpHeaders.IF_NONE_MATCH, filterOptionsETag))
+                .andExpect(status().isNotModified());
+
+        // the csv export of a completed result is conditional too
+        SensitivityAnalysisCsvFileInfos csvFileInfos = SensitivityAnalysisCsvFileInfos.builder()
+                .sensitivityFunctionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+                .resultTab(ResultTab.N)
+                .csvHeaders(List.of("functionId", "variableId", "functionReference", "value"))
+                .language("en")
+                .build();
+        result = mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv", resultUuid).param("selector", selector)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(csvFileInfos)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csvETag = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(csvETag);
+        assertNotEquals(eTag, csvETag);
+        result = mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv", resultUuid).param("selector", selector)
+                        .header(HttpHeaders.IF_NONE_MATCH, csvETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(csvFileInfos)))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertEquals(csvETag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void contentNegotiationTest() throws Exception {
+        UUID resultUuid = run(parametersUuid);
+        checkComputationSucceeded(resultUuid);
+
+        String selector = mapper.writeValueAsString(ResultsSelector.builder()
+                .tabSelection(ResultTab.N)
+                .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+                .build());
+
+        // json stays the default without Accept header
+        MvcResult result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid).param("selector", selector))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        SensitivityRunQueryResult jsonResult = mapper.readValue(result.getResponse().getContentAsString(), SensitivityRunQueryResult.class);
+        String jsonETag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}", resultUuid).param("selector", selector)
+                        .accept(SensitivityArrowWriter.MEDIA_TYPE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SensitivityArrowWriter.MEDIA_TYPE_VALUE))
+                .andReturn();
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(result.getResponse().getContentAsByteArray()), allocator)) {
+            Map<String, String> metadata = reader.getVectorSchemaRoot().getSchema().getCustomMetadata();
+            assertEquals("N", metadata.get("resultTab"));
+            assertEquals("BRANCH_ACTIVE_POWER_1", metadata.get("functionType"));
+            assertEquals(String.valueOf(jsonResult.getRequestedChunkSize()), metadata.get("requestedChunkSize"));
+            assertEquals(String.valueOf(jsonResult.getChunkOffset()), metadata.get("chunkOffset"));
+            assertEquals(String.valueOf(jsonResult.getTotalSensitivitiesCount()), metadata.get("totalSensitivitiesCount"));
+            assertEquals(String.valueOf(jsonResult.getFilteredSensitivitiesCount()), metadata.get("filteredSensitivitiesCount"));
+            int rowCount = 0;
+            while (reader.loadNextBatch()) {
+                rowCount += reader.getVectorSchemaRoot().getRowCount();
+            }
+            assertEquals(jsonResult.getSensitivities().size(), rowCount);
+        }
+
+        // each representation has its own ETag
+        assertNotEquals(jsonETag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
     @Test
     void failedTest() throws Exception {
         UUID resultUuid = run(NETWORK_FAILED_UUID, parametersUuid);
@@ -507,6 +646,200 @@ class SensitivityAnalysisControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void exportCsvArchiveTest() throws Exception {
+        UUID resultUuid = run(parametersUuid);
+        checkComputationSucceeded(resultUuid);
+        List<SensitivityAnalysisCsvFileInfos> csvFilesInfos = Stream.of(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, SensitivityFunctionType.BRANCH_CURRENT_1)
+                .flatMap(functionType -> Stream.of(
+                    SensitivityAnalysisCsvFileInfos.builder()
+                        .sensitivityFunctionType(functionType)
+                        .resultTab(ResultTab.N)
+                        .csvHeaders(List.of("functionId", "variableId", "functionReference", "value"))
+                        .language("en")
+                        .build(),
+                    SensitivityAnalysisCsvFileInfos.builder()
+                        .sensitivityFunctionType(functionType)
+                        .resultTab(ResultTab.N_K)
+                        .csvHeaders(List.of("functionId", "variableId", "contingencyId", "functionReference", "value", "functionReferenceAfter", "valueAfter"))
+                        .language("en")
+                        .build()))
+                .toList();
+
+        MvcResult result = mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv/archive", resultUuid)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(csvFilesInfos)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] archive = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        assertEquals(List.of("sensitivity_result_N_BRANCH_ACTIVE_POWER_1.csv", "sensitivity_result_N_K_BRANCH_ACTIVE_POWER_1.csv",
+            "sensitivity_result_N_BRANCH_CURRENT_1.csv", "sensitivity_result_N_K_BRANCH_CURRENT_1.csv"), new ArrayList<>(entries.keySet()));
+        assertArrayEquals(unzip(exportCsv(resultUuid, csvFilesInfos.get(0))), entries.get("sensitivity_result_N_BRANCH_ACTIVE_POWER_1.csv"));
+        // the entries are built in the export directory and removed once archived
+        try (Stream<Path> exportFiles = Files.list(exportDirectory)) {
+            assertTrue(exportFiles.noneMatch(path -> path.getFileName().toString().startsWith("sensitivity-export-")));
+        }
+
+        // the same tab and function type cannot be exported twice
+        mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv/archive", resultUuid)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(csvFilesInfos.get(0), csvFilesInfos.get(0)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportArrowTest() throws Exception {
+        UUID resultUuid = run(parametersUuid);
+        checkComputationSucceeded(resultUuid);
+        ResultsSelector selectorNK = ResultsSelector.builder()
+                .tabSelection(ResultTab.N_K)
+                .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+                .build();
+        MvcResult result = mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/arrow", resultUuid)
+                        .param("selector", mapper.writeValueAsString(selectorNK)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] arrowFile = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        Map<SensitivityKey, Double> expectedValuesAfter = new HashMap<>();
+        queryResult(resultUuid, selectorNK).getSensitivities()
+            .forEach(sensitivity -> expectedValuesAfter.put(SensitivityKey.of(sensitivity), ((SensitivityWithContingency) sensitivity).getValueAfter()));
+        Map<SensitivityKey, Double> valuesAfter = new HashMap<>();
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(arrowFile), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            Map<Long, Dictionary> dictionaries = reader.getDictionaryVectors();
+            while (reader.loadNextBatch()) {
+                try (VarCharVector functionIds = (VarCharVector) DictionaryEncoder.decode(root.getVector("functionId"), dictionaries.get(0L));
+                     VarCharVector variableIds = (VarCharVector) DictionaryEncoder.decode(root.getVector("variableId"), dictionaries.get(1L));
+                     VarCharVector contingencyIds = (VarCharVector) DictionaryEncoder.decode(root.getVector("contingencyId"), dictionaries.get(2L))) {
+                    Float8Vector valueAfter = (Float8Vector) root.getVector("valueAfter");
+                    for (int i = 0; i < root.getRowCount(); i++) {
+                        valuesAfter.put(new SensitivityKey(functionIds.getObject(i).toString(), variableIds.getObject(i).toString(), contingencyIds.getObject(i).toString()),
+                            valueAfter.get(i));
+                    }
+                }
+            }
+        }
+        assertEquals(expectedValuesAfter, valuesAfter);
+
+        mockMvc.perform(get("/" + VERSION + "/results/{resultUuid}/arrow", UUID.randomUUID())
+                        .param("selector", mapper.writeValueAsString(selectorNK)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportCsvJobTest() throws Exception {
+        UUID resultUuid = run(parametersUuid);
+        checkComputationSucceeded(resultUuid);
+        SensitivityAnalysisCsvFileInfos csvFileInfos = SensitivityAnalysisCsvFileInfos.builder()
+                .sensitivityFunctionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+                .resultTab(ResultTab.N)
+                .csvHeaders(List.of("functionId", "variableId", "functionReference", "value"))
+                .language("en")
+                .build();
+
+        ExportJobInfos submittedJob = submitCsvExportJob(resultUuid, csvFileInfos);
+        assertEquals(resultUuid, submittedJob.resultUuid());
+        Message<byte[]> exportMessage = output.receive(TIMEOUT, "sensitivityanalysis.export");
+        assertEquals(submittedJob.jobId().toString(), exportMessage.getHeaders().get("jobId"));
+        assertEquals(ExportJobStatus.COMPLETED.name(), exportMessage.getHeaders().get("status"));
+        assertEquals("me", exportMessage.getHeaders().get("receiver"));
+
+        // the same export of the completed result reuses the file
+        ExportJobInfos sameJob = submitCsvExportJob(resultUuid, csvFileInfos);
+        assertEquals(submittedJob.jobId(), sameJob.jobId());
+        assertEquals(ExportJobStatus.COMPLETED, sameJob.status());
+
+        MvcResult jobResult = mockMvc.perform(get("/" + VERSION + "/export-jobs/{jobId}", submittedJob.jobId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        ExportJobInfos completedJob = mapper.readValue(jobResult.getResponse().getContentAsString(), ExportJobInfos.class);
+        byte[] zipFile = mockMvc.perform(get("/" + VERSION + "/export-jobs/{jobId}/file", submittedJob.jobId())
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertEquals(completedJob.fileSize(), zipFile.length);
+        assertArrayEquals(unzip(exportCsv(resultUuid, csvFileInfos)), unzip(zipFile));
+
+        // resuming the download
+        byte[] end = mockMvc.perform(get("/" + VERSION + "/export-jobs/{jobId}/file", submittedJob.jobId())
+                        .header(HEADER_USER_ID, "testUserId")
+                        .header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isPartialContent())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(zipFile, 10, zipFile.length), end);
+
+        // only the users who requested the export can download it
+        mockMvc.perform(get("/" + VERSION + "/export-jobs/{jobId}/file", submittedJob.jobId())
+                        .header(HEADER_USER_ID, "otherUserId"))
+                .andExpect(status().isNotFound());
+
+        // a completed job expires from its completion
+        exportService.purge();
+        mockMvc.perform(get("/" + VERSION + "/export-jobs/{jobId}", submittedJob.jobId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/" + VERSION + "/export-jobs/{jobId}", submittedJob.jobId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/" + VERSION + "/export-jobs/{jobId}/file", submittedJob.jobId())
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv/jobs", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(csvFileInfos))
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportJobsPurgeTest() throws Exception {
+        // files left without job by a restart during an export
+        Path orphanFile = Files.createFile(exportDirectory.resolve(UUID.randomUUID() + ".zip.part"));
+        Path otherFile = Files.createFile(exportDirectory.resolve(UUID.randomUUID() + ".txt"));
+
+        exportService.purge();
+
+        assertFalse(Files.exists(orphanFile));
+        assertTrue(Files.exists(otherFile));
+        Files.delete(otherFile);
+    }
+
+    private ExportJobInfos submitCsvExportJob(UUID resultUuid, SensitivityAnalysisCsvFileInfos csvFileInfos) throws Exception {
+        ResultsSelector selector = ResultsSelector.builder()
+                .tabSelection(ResultTab.N)
+                .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+                .build();
+        MvcResult result = mockMvc.perform(post("/" + VERSION + "/results/{resultUuid}/csv/jobs", resultUuid)
+                        .param("selector", mapper.writeValueAsString(selector))
+                        .param("receiver", "me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(csvFileInfos))
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readValue(result.getResponse().getContentAsString(), ExportJobInfos.class);
+    }
+
     @Test
     void deleteResultsTest() throws Exception {
         UUID resultUuid = run(parametersUuid);
@@ -658,9 +991,13 @@ class SensitivityAnalysisControllerTest {
                         .param("selector", mapper.writeValueAsString(selector))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(csvFileInfos)))
-                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
                 .andReturn();
-        return result.getResponse().getContentAsByteArray();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
     }
 
     private void exportCsvFails(UUID resultUuid, SensitivityAnalysisCsvFileInfos csvFileInfos, ResultMatcher resultMatcher) throws Exception {
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.configuration;
+
+import jakarta.persistence.EntityManager;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityAnalysisStatus;
+import org.gridsuite.sensitivityanalysis.server.service.SensitivityAnalysisResultService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The read datasource is an empty database here : any query that is routed to it fails, which shows which reads are
+ * pinned to the write datasource through the whole JPA stack.
+ */
+@SpringBootTest(properties = "sensitivity-analysis.datasource.read.jdbc-url=" + ReadWriteDataSourceConfigTest.READ_URL)
+class ReadWriteDataSourceConfigTest {
+
+    static final String READ_URL = "jdbc:h2:mem:sensitivity_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SensitivityAnalysisResultService resultService;
+
+    @AfterEach
+    void cleanDB() {
+        resultService.deleteAll();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReadDataSource() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        assertThat(readOnlyTransaction.execute(status -> currentUrl())).isEqualTo(READ_URL);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThat(transaction.execute(status -> currentUrl())).isNotEqualTo(READ_URL);
+    }
+
+    @Test
+    void testJustCommittedReadsUseWriteDataSource() {
+        UUID resultUuid = UUID.randomUUID();
+        resultService.insertAnalysisResult(resultUuid);
+        resultService.insertStatus(List.of(resultUuid), SensitivityAnalysisStatus.COMPLETED);
+        resultService.setCompleted(resultUuid);
+
+        assertThat(resultService.findStatus(resultUuid)).isEqualTo(SensitivityAnalysisStatus.COMPLETED);
+        assertThat(resultService.getCompletionTimeStamp(resultUuid)).isPresent();
+        // the other reads go to the read datasource, that has no schema here
+        assertThatThrownBy(() -> resultService.existsAnalysisResult(resultUuid)).isInstanceOf(RuntimeException.class);
+    }
+
+    private String currentUrl() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> connection.getMetaData().getURL());
+    }
+}
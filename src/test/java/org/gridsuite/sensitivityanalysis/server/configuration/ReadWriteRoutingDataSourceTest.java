@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String WRITE_URL = "jdbc:h2:mem:sensitivity_write;DB_CLOSE_DELAY=-1";
+    private static final String READ_URL = "jdbc:h2:mem:sensitivity_read;DB_CLOSE_DELAY=-1";
+
+    private final DataSource dataSource = ReadWriteRoutingDataSource.create(
+        new DriverManagerDataSource(WRITE_URL), new DriverManagerDataSource(READ_URL));
+
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+    @Test
+    void testReadOnlyTransactionsUseReadDataSource() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        assertThat(readOnlyTransaction.execute(status -> currentUrl())).startsWith("jdbc:h2:mem:sensitivity_read");
+    }
+
+    @Test
+    void testReadWriteTransactionsUseWriteDataSource() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThat(transaction.execute(status -> currentUrl())).startsWith("jdbc:h2:mem:sensitivity_write");
+    }
+
+    @Test
+    void testNonTransactionalAccessUsesWriteDataSource() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.getMetaData().getURL()).startsWith("jdbc:h2:mem:sensitivity_write");
+        }
+    }
+
+    private String currentUrl() {
+        try {
+            return DataSourceUtils.getConnection(dataSource).getMetaData().getURL();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.configuration;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityRunQueryResult;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityWithContingency;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultTab;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SensitivityRunQueryResultArrowConverterTest {
+
+    private final SensitivityRunQueryResultArrowConverter converter = new SensitivityRunQueryResultArrowConverter();
+
+    @Test
+    void testWriteNkResult() throws IOException {
+        SensitivityRunQueryResult result = SensitivityRunQueryResult.builder()
+            .resultTab(ResultTab.N_K)
+            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+            .requestedChunkSize(2)
+            .chunkOffset(0)
+            .totalSensitivitiesCount(10L)
+            .filteredSensitivitiesCount(2L)
+            .sensitivities(List.of(
+                SensitivityWithContingency.builder().funcId("l1").varId("g1").contingencyId("c1")
+                    .value(1.5).functionReference(10.).valueAfter(2.5).functionReferenceAfter(20.).build(),
+                SensitivityWithContingency.builder().funcId("l1").varId("g2").varIsAFilter(true).contingencyId("c1")
+                    .value(-1.5).functionReference(10.).valueAfter(-2.5).functionReferenceAfter(30.).build()))
+            .build();
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(result, SensitivityRunQueryResultArrowConverter.MEDIA_TYPE, outputMessage);
+        assertThat(outputMessage.getHeaders().getContentType()).isEqualTo(SensitivityRunQueryResultArrowConverter.MEDIA_TYPE);
+
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(outputMessage.getBodyAsBytes()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertThat(root.getSchema().getCustomMetadata()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "resultTab", "N_K",
+                "functionType", "BRANCH_ACTIVE_POWER_1",
+                "requestedChunkSize", "2",
+                "chunkOffset", "0",
+                "totalSensitivitiesCount", "10",
+                "filteredSensitivitiesCount", "2"));
+            assertThat(reader.loadNextBatch()).isTrue();
+            assertThat(root.getRowCount()).isEqualTo(2);
+            Map<Long, Dictionary> dictionaries = reader.getDictionaryVectors();
+            try (VarCharVector functionIds = (VarCharVector) DictionaryEncoder.decode(root.getVector("functionId"), dictionaries.get(0L));
+                 VarCharVector variableIds = (VarCharVector) DictionaryEncoder.decode(root.getVector("variableId"), dictionaries.get(1L));
+                 VarCharVector contingencyIds = (VarCharVector) DictionaryEncoder.decode(root.getVector("contingencyId"), dictionaries.get(2L))) {
+                assertThat(List.of(functionIds.getObject(0).toString(), functionIds.getObject(1).toString())).containsExactly("l1", "l1");
+                assertThat(List.of(variableIds.getObject(0).toString(), variableIds.getObject(1).toString())).containsExactly("g1", "g2");
+                assertThat(List.of(contingencyIds.getObject(0).toString(), contingencyIds.getObject(1).toString())).containsExactly("c1", "c1");
+            }
+            BitVector varIsAFilter = (BitVector) root.getVector("varIsAFilter");
+            assertThat(new int[] {varIsAFilter.get(0), varIsAFilter.get(1)}).containsExactly(0, 1);
+            Float8Vector value = (Float8Vector) root.getVector("value");
+            assertThat(new double[] {value.get(0), value.get(1)}).containsExactly(1.5, -1.5);
+            Float8Vector functionReference = (Float8Vector) root.getVector("functionReference");
+            assertThat(new double[] {functionReference.get(0), functionReference.get(1)}).containsExactly(10., 10.);
+            Float8Vector valueAfter = (Float8Vector) root.getVector("valueAfter");
+            assertThat(new double[] {valueAfter.get(0), valueAfter.get(1)}).containsExactly(2.5, -2.5);
+            Float8Vector functionReferenceAfter = (Float8Vector) root.getVector("functionReferenceAfter");
+            assertThat(new double[] {functionReferenceAfter.get(0), functionReferenceAfter.get(1)}).containsExactly(20., 30.);
+            assertThat(reader.loadNextBatch()).isFalse();
+        }
+    }
+}
@@ -10,14 +10,21 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.powsybl.commons.report.ReportNode;
+import com.powsybl.contingency.BranchContingency;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.IdentifiableType;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
 import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.SensitivityVariableSet;
 import org.gridsuite.sensitivityanalysis.server.service.ActionsService;
 import org.gridsuite.sensitivityanalysis.server.service.FilterService;
+import org.gridsuite.sensitivityanalysis.server.service.NetworkCache;
 import org.gridsuite.sensitivityanalysis.server.service.SensitivityAnalysisInputBuilderService;
 import org.gridsuite.sensitivityanalysis.server.service.SensitivityAnalysisRunContext;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroup;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,10 +32,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.gridsuite.sensitivityanalysis.server.util.TestUtils.DEFAULT_PROVIDER;
@@ -37,9 +47,13 @@ import static org.hamcrest.Matchers.*;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -104,9 +118,9 @@ class SensitivityAnalysisInputDataTest {
     @Test
     void testEmptyInputTranslation() {
         SensitivityAnalysisInputBuilderService inputBuilderService;
-        given(filterService.getIdentifiablesFromFilters(any(), any(), any())).willThrow(new RuntimeException("FilterException"));
+        given(filterService.getFilterEquipments(any(), any(), any())).willThrow(new RuntimeException("FilterException"));
         given(actionsService.getContingencyList(any(), any(), any())).willThrow(new RuntimeException("ContingencyException"));
-        inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService);
+        inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService, new NetworkCache(Duration.ofMinutes(1), 0), 2, false);
         SensitivityAnalysisInputData.SensitivityAnalysisInputDataBuilder<?, ?> inputBuilder = SensitivityAnalysisInputData.builder();
         SensitivityAnalysisInputData inputData = inputBuilder
             .sensitivityInjectionsSets(List.of())
@@ -134,9 +148,9 @@ class SensitivityAnalysisInputDataTest {
 
         UUID u10Id = UUID.randomUUID();
         UUID u11Id = UUID.randomUUID();
-        given(filterService.getIdentifiablesFromFilters(any(), any(), any())).willThrow(new RuntimeException("FilterException"));
-        given(actionsService.getContingencyList(anyList(), any(), any())).willReturn(new ContingencyListExportResult(null, List.of(u10Id, u11Id)));
-        inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService);
+        given(filterService.getFilterEquipments(any(), any(), any())).willThrow(new RuntimeException("FilterException"));
+        given(actionsService.getContingencyList(anyList(), any(), any())).willAnswer(invocation -> new ContingencyListExportResult(null, invocation.getArgument(0)));
+        inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService, new NetworkCache(Duration.ofMinutes(1), 0), 2, false);
         SensitivityAnalysisInputData.SensitivityAnalysisInputDataBuilder<?, ?> inputBuilder = SensitivityAnalysisInputData.builder();
         ReportNode reporter = ReportNode.newRootReportNode()
                 .withResourceBundles("i18n.reports")
@@ -165,10 +179,195 @@ class SensitivityAnalysisInputDataTest {
         assertThat(reportKeys, contains("sensitivity.analysis.server.contingencyTranslationFailure", "sensitivity.analysis.server.filterTranslationFailure"));
     }
 
+    @Test
+    void testRemoteInputsRequestedBeforeBuild() {
+        UUID contingencyListId = UUID.randomUUID();
+        UUID filterId = UUID.randomUUID();
+        given(filterService.getFilterEquipments(any(), any(), any())).willReturn(List.of());
+        given(actionsService.getContingencyList(anyList(), any(), any())).willAnswer(invocation -> new ContingencyListExportResult(null, invocation.getArgument(0)));
+        SensitivityAnalysisInputBuilderService inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService, new NetworkCache(Duration.ofMinutes(1), 0), 2, false);
+        SensitivityAnalysisInputData inputData = SensitivityAnalysisInputData.builder()
+            .sensitivityInjectionsSets(List.of())
+            .sensitivityHVDCs(List.of())
+            .sensitivityPSTs(List.of())
+            .sensitivityNodes(List.of())
+            .parameters(SensitivityAnalysisParameters.load())
+            .sensitivityInjections(List.of(SensitivityInjection.builder()
+                .monitoredBranches(List.of(filterId))
+                .injections(List.of(filterId))
+                .contingencies(List.of(contingencyListId))
+                .build()))
+            .build();
+        SensitivityAnalysisRunContext context = new SensitivityAnalysisRunContext(NETWORK_UUID, VARIANT_ID, null, null, null, DEFAULT_PROVIDER, inputData);
+
+        // the requests do not wait for the network
+        SensitivityAnalysisInputBuilderService.RemoteInputs remoteInputs = inputBuilderService.fetchRemoteInputs(context);
+        verify(actionsService, timeout(1000)).getContingencyList(List.of(contingencyListId), NETWORK_UUID, VARIANT_ID);
+        verify(filterService, timeout(1000)).getFilterEquipments(eq(List.of(filterId)), eq(NETWORK_UUID), eq(VARIANT_ID));
+
+        ReportNode reporter = ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports")
+                .withMessageTemplate("a").build();
+        inputBuilderService.build(context, remoteInputs, NETWORK, reporter);
+        Set<String> reportKeys = reporter.getChildren().stream().map(ReportNode::getMessageKey).collect(Collectors.toSet());
+        assertThat(reportKeys, contains("sensitivity.analysis.server.contingencyTranslationFailure"));
+    }
+
+    @Test
+    void testRemoteInputsCompletedOutOfOrder() throws Exception {
+        UUID firstListId = UUID.randomUUID();
+        UUID secondListId = UUID.randomUUID();
+        UUID branchesId = UUID.randomUUID();
+        UUID generatorsId = UUID.randomUUID();
+        UUID firstNotFoundId = UUID.randomUUID();
+        UUID secondNotFoundId = UUID.randomUUID();
+        CountDownLatch secondListAnswered = new CountDownLatch(1);
+        // the first list is answered after the second one
+        given(actionsService.getContingencyList(List.of(firstListId), NETWORK_UUID, VARIANT_ID)).willAnswer(invocation -> {
+            assertTrue(secondListAnswered.await(10, TimeUnit.SECONDS));
+            return new ContingencyListExportResult(List.of(new Contingency("first", new BranchContingency("NHV1_NHV2_1"))), List.of(firstNotFoundId));
+        });
+        given(actionsService.getContingencyList(List.of(secondListId), NETWORK_UUID, VARIANT_ID)).willAnswer(invocation -> {
+            secondListAnswered.countDown();
+            return new ContingencyListExportResult(List.of(new Contingency("second", new BranchContingency("NHV1_NHV2_2"))), List.of(secondNotFoundId));
+        });
+        given(filterService.getFilterEquipments(anyList(), any(), any())).willAnswer(invocation -> invocation.<List<UUID>>getArgument(0).stream()
+            .map(id -> new FilterEquipments(id, List.of(id.equals(branchesId) ? new IdentifiableAttributes("NHV1_NHV2_1", IdentifiableType.LINE, null)
+                : new IdentifiableAttributes("GEN", IdentifiableType.GENERATOR, null)), List.of()))
+            .toList());
+        SensitivityAnalysisInputBuilderService inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService, new NetworkCache(Duration.ofMinutes(1), 0), 2, false);
+        SensitivityAnalysisInputData inputData = SensitivityAnalysisInputData.builder()
+            .sensitivityInjectionsSets(List.of())
+            .sensitivityHVDCs(List.of())
+            .sensitivityPSTs(List.of())
+            .sensitivityNodes(List.of())
+            .parameters(SensitivityAnalysisParameters.load())
+            .sensitivityInjections(List.of(SensitivityInjection.builder()
+                .monitoredBranches(List.of(branchesId))
+                .injections(List.of(generatorsId))
+                .contingencies(List.of(firstListId, secondListId))
+                .build()))
+            .build();
+        SensitivityAnalysisRunContext context = new SensitivityAnalysisRunContext(NETWORK_UUID, VARIANT_ID, null, null, null, DEFAULT_PROVIDER, inputData);
+        ReportNode reporter = ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports")
+                .withMessageTemplate("a").build();
+
+        inputBuilderService.build(context, EurostagTutorialExample1Factory.create(), reporter);
+
+        // the reports and the factors follow the order of the lists, not the order of the responses
+        assertEquals(List.of(firstNotFoundId.toString(), secondNotFoundId.toString()), reporter.getChildren().stream()
+            .map(report -> report.getValues().get("id").getValue().toString())
+            .toList());
+        assertEquals(List.of("first", "second"), context.getSensitivityAnalysisInputs().getFactorsGroups().get(0).contingencyIds());
+    }
+
+    @Test
+    void testFailingFilterRequestedAlone() {
+        UUID branchesId = UUID.randomUUID();
+        UUID generatorId = UUID.randomUUID();
+        UUID failingId = UUID.randomUUID();
+        given(filterService.getFilterEquipments(anyList(), any(), any())).willAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(0);
+            if (ids.contains(failingId)) {
+                throw new RuntimeException("FilterException");
+            }
+            return ids.stream()
+                .map(id -> new FilterEquipments(id, List.of(id.equals(branchesId) ? new IdentifiableAttributes("NHV1_NHV2_1", IdentifiableType.LINE, null)
+                    : new IdentifiableAttributes("GEN", IdentifiableType.GENERATOR, null)), List.of()))
+                .toList();
+        });
+        SensitivityAnalysisInputBuilderService inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService, new NetworkCache(Duration.ofMinutes(1), 0), 2, false);
+        SensitivityAnalysisInputData inputData = SensitivityAnalysisInputData.builder()
+            .sensitivityInjectionsSets(List.of())
+            .sensitivityHVDCs(List.of())
+            .sensitivityPSTs(List.of())
+            .sensitivityNodes(List.of())
+            .parameters(SensitivityAnalysisParameters.load())
+            .sensitivityInjections(List.of(
+                SensitivityInjection.builder()
+                    .monitoredBranches(List.of(branchesId))
+                    .injections(List.of(generatorId))
+                    .contingencies(List.of())
+                    .build(),
+                SensitivityInjection.builder()
+                    .monitoredBranches(List.of(branchesId))
+                    .injections(List.of(failingId))
+                    .contingencies(List.of())
+                    .build()))
+            .build();
+        SensitivityAnalysisRunContext context = new SensitivityAnalysisRunContext(NETWORK_UUID, VARIANT_ID, null, null, null, DEFAULT_PROVIDER, inputData);
+        ReportNode reporter = ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports")
+                .withMessageTemplate("a").build();
+
+        inputBuilderService.build(context, EurostagTutorialExample1Factory.create(), reporter);
+
+        // the failing filter fails its batch, then only its own request
+        verify(filterService).getFilterEquipments(List.of(generatorId, branchesId, failingId), NETWORK_UUID, VARIANT_ID);
+        verify(filterService).getFilterEquipments(List.of(failingId), NETWORK_UUID, VARIANT_ID);
+        assertEquals(List.of("sensitivity.analysis.server.filterTranslationFailure"), reporter.getChildren().stream().map(ReportNode::getMessageKey).toList());
+        List<SensitivityFactorsGroup> factorsGroups = context.getSensitivityAnalysisInputs().getFactorsGroups();
+        assertEquals(1, factorsGroups.size());
+        assertEquals(List.of("GEN"), factorsGroups.get(0).variableIds());
+    }
+
+    @Test
+    void testVariableSetsSharedBetweenInjectionsSets() {
+        UUID branchesId = UUID.randomUUID();
+        UUID generatorId = UUID.randomUUID();
+        UUID otherGeneratorId = UUID.randomUUID();
+        given(filterService.getFilterEquipments(anyList(), any(), any())).willAnswer(invocation -> invocation.<List<UUID>>getArgument(0).stream()
+            .map(id -> new FilterEquipments(id, List.of(id.equals(branchesId) ? new IdentifiableAttributes("NHV1_NHV2_1", IdentifiableType.LINE, null)
+                : new IdentifiableAttributes(id.equals(generatorId) ? "GEN" : "GEN2", IdentifiableType.GENERATOR, null)), List.of()))
+            .toList());
+        SensitivityAnalysisInputBuilderService inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService, new NetworkCache(Duration.ofMinutes(1), 0), 2, false);
+        SensitivityAnalysisInputData inputData = SensitivityAnalysisInputData.builder()
+            .sensitivityInjectionsSets(List.of(
+                SensitivityInjectionsSet.builder()
+                    .monitoredBranches(List.of(branchesId))
+                    .injections(List.of(generatorId, otherGeneratorId))
+                    .distributionType(SensitivityAnalysisInputData.DistributionType.REGULAR)
+                    .contingencies(List.of()).build(),
+                SensitivityInjectionsSet.builder()
+                    .monitoredBranches(List.of(branchesId))
+                    .injections(List.of(otherGeneratorId, generatorId))
+                    .distributionType(SensitivityAnalysisInputData.DistributionType.REGULAR)
+                    .contingencies(List.of()).build(),
+                SensitivityInjectionsSet.builder()
+                    .monitoredBranches(List.of(branchesId))
+                    .injections(List.of(generatorId, otherGeneratorId))
+                    .distributionType(SensitivityAnalysisInputData.DistributionType.PROPORTIONAL)
+                    .contingencies(List.of()).build()))
+            .sensitivityInjections(List.of())
+            .sensitivityHVDCs(List.of())
+            .sensitivityPSTs(List.of())
+            .sensitivityNodes(List.of())
+            .parameters(SensitivityAnalysisParameters.load())
+            .build();
+        SensitivityAnalysisRunContext context = new SensitivityAnalysisRunContext(NETWORK_UUID, VARIANT_ID, null, null, null, DEFAULT_PROVIDER, inputData);
+        ReportNode reporter = ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports")
+                .withMessageTemplate("a").build();
+
+        inputBuilderService.build(context, EurostagTutorialExample1Factory.createWithMoreGenerators(), reporter);
+
+        // the same filters in another order with the same distribution type share the variable set
+        List<SensitivityVariableSet> variableSets = context.getSensitivityAnalysisInputs().getVariablesSets();
+        assertEquals(2, variableSets.size());
+        List<SensitivityFactorsGroup> factorsGroups = context.getSensitivityAnalysisInputs().getFactorsGroups();
+        assertEquals(List.of(variableSets.get(0).getId()), factorsGroups.get(0).variableIds());
+        assertEquals(List.of(variableSets.get(0).getId()), factorsGroups.get(1).variableIds());
+        assertEquals(List.of(variableSets.get(1).getId()), factorsGroups.get(2).variableIds());
+        // the same filters with another distribution type get another set, whose id tells the type
+        assertEquals(List.of("[" + generatorId + ", " + otherGeneratorId + "] (REGULAR)", "[" + generatorId + ", " + otherGeneratorId + "] (PROPORTIONAL)"),
+            variableSets.stream().map(SensitivityVariableSet::getId).toList());
+    }
+
     @Test
     void testFilterWiderPbInputTranslation() {
         SensitivityAnalysisInputBuilderService inputBuilderService;
-        inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService);
+        inputBuilderService = new SensitivityAnalysisInputBuilderService(actionsService, filterService, new NetworkCache(Duration.ofMinutes(1), 0), 2, false);
         SensitivityAnalysisInputData.SensitivityAnalysisInputDataBuilder<?, ?> inputBuilder = SensitivityAnalysisInputData.builder();
         SensitivityAnalysisRunContext context;
 
@@ -7,19 +7,23 @@
 package org.gridsuite.sensitivityanalysis.server.repositories;
 
 import com.powsybl.contingency.Contingency;
-import com.powsybl.contingency.ContingencyContext;
 import com.powsybl.sensitivity.*;
 import com.vladmihalcea.sql.SQLStatementCountValidator;
-import org.apache.commons.compress.utils.Lists;
+import org.gridsuite.sensitivityanalysis.server.dto.ContingencyImpact;
 import org.gridsuite.sensitivityanalysis.server.dto.SensitivityAnalysisStatus;
+import org.gridsuite.sensitivityanalysis.server.dto.SensitivityKey;
 import org.gridsuite.sensitivityanalysis.server.dto.SensitivityOfTo;
 import org.gridsuite.sensitivityanalysis.server.dto.SensitivityWithContingency;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ContingencyImpactSortKey;
+import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ContingencyImpactsSelector;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultTab;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.ResultsSelector;
 import org.gridsuite.sensitivityanalysis.server.dto.resultselector.SortKey;
 import org.gridsuite.sensitivityanalysis.server.entities.ContingencyResultEntity;
 import org.gridsuite.sensitivityanalysis.server.service.SensitivityAnalysisResultService;
 import org.gridsuite.sensitivityanalysis.server.util.ContingencyResult;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroup;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsIndex;
 import org.gridsuite.sensitivityanalysis.server.util.SensitivityResultsBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +35,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 import static org.gridsuite.sensitivityanalysis.server.util.TestUtils.assertRequestsCount;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
@@ -45,6 +50,11 @@ class SensitivityAnalysisResultServiceTest {
     private static final String GEN_ID2 = "genId2";
     private static final String CONTINGENCY_ID1 = "contingencyId1";
     private static final String CONTINGENCY_ID2 = "contingencyId2";
+    private static final List<Contingency> CONTINGENCIES = List.of(
+        Contingency.builder(CONTINGENCY_ID1).build(),
+        Contingency.builder(CONTINGENCY_ID2).build()
+    );
+    private static final List<SensitivityFactorsGroup> FACTORS = createFactors(List.of(BRANCH_ID1, BRANCH_ID2), List.of(GEN_ID1, GEN_ID2), CONTINGENCIES);
 
     @Autowired
     private SensitivityAnalysisResultService sensitivityAnalysisResultService;
@@ -92,7 +102,7 @@ class SensitivityAnalysisResultServiceTest {
         SQLStatementCountValidator.reset();
         sensitivityAnalysisResultService.delete(resultUuid);
 
-        assertRequestsCount(2, 0, 0, 6);
+        assertRequestsCount(2, 0, 0, 7);
         assertThat(analysisResultRepository.findByResultUuid(resultUuid)).isNull();
         assertThat(globalStatusRepository.findByResultUuid(resultUuid)).isNull();
         assertThat(contingencyResultRepository.findAll()).isEmpty();
@@ -110,7 +120,7 @@ class SensitivityAnalysisResultServiceTest {
         SQLStatementCountValidator.reset();
         sensitivityAnalysisResultService.deleteAll();
 
-        assertRequestsCount(0, 0, 0, 6);
+        assertRequestsCount(0, 0, 0, 7);
         assertThat(analysisResultRepository.findAll()).isEmpty();
         assertThat(globalStatusRepository.findAll()).isEmpty();
         assertThat(contingencyResultRepository.findAll()).isEmpty();
@@ -178,6 +188,124 @@ class SensitivityAnalysisResultServiceTest {
         assertThat(afterContingencyValues).containsExactly(-1.0, -0.4, 0.2, 0.3, 0.5, 0.6, 0.8, 0.9).isSorted();
     }
 
+    @Test
+    void testGetRunResultInNKSortedByAbsoluteValues() {
+        UUID resultUuid = UUID.randomUUID();
+        createResult(resultUuid);
+        fillResult(resultUuid);
+        sensitivityAnalysisResultService.updateAbsoluteDeltas(resultUuid);
+
+        var selectorAbsSensitivity = ResultsSelector.builder()
+            .tabSelection(ResultTab.N_K)
+            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+            .sortKeysWithWeightAndDirection(Map.of(SortKey.ABS_POST_SENSITIVITY, 1))
+            .build();
+        var result = sensitivityAnalysisResultService.getRunResult(resultUuid, selectorAbsSensitivity, null);
+        assertThat(result).isNotNull();
+        assertThat(result.getSensitivities().stream().map(s -> (SensitivityWithContingency) s).map(SensitivityWithContingency::getValueAfter).toList())
+            .containsExactly(0.2, 0.3, -0.4, 0.5, 0.6, 0.8, 0.9, -1.0);
+
+        var selectorAbsDelta = ResultsSelector.builder()
+            .tabSelection(ResultTab.N_K)
+            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+            .sortKeysWithWeightAndDirection(Map.of(SortKey.ABS_DELTA, -1))
+            .pageNumber(0)
+            .pageSize(2)
+            .build();
+        result = sensitivityAnalysisResultService.getRunResult(resultUuid, selectorAbsDelta, null);
+        assertThat(result).isNotNull();
+        assertThat(result.getSensitivities().stream().map(s -> (SensitivityWithContingency) s).map(SensitivityWithContingency::getValueAfter).toList())
+            .containsExactly(-1.0, -0.4);
+    }
+
+    @Test
+    void testStreamRunResultInNKSortedBySensitivitiesAfterContingency() {
+        UUID resultUuid = UUID.randomUUID();
+        createResult(resultUuid);
+        fillResult(resultUuid);
+
+        var selectorNK = ResultsSelector.builder()
+            .tabSelection(ResultTab.N_K)
+            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+            .sortKeysWithWeightAndDirection(Map.of(SortKey.POST_SENSITIVITY, 1))
+            .build();
+        List<SensitivityOfTo> streamed = new ArrayList<>();
+        sensitivityAnalysisResultService.streamRunResult(resultUuid, selectorNK, null, streamed::add);
+        var result = sensitivityAnalysisResultService.getRunResult(resultUuid, selectorNK, null);
+        assertThat(result).isNotNull();
+        assertThat(streamed).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(result.getSensitivities());
+        assertThat(streamed.stream().map(s -> (SensitivityWithContingency) s).map(SensitivityWithContingency::getValueAfter).toList())
+            .containsExactly(-1.0, -0.4, 0.2, 0.3, 0.5, 0.6, 0.8, 0.9);
+    }
+
+    @Test
+    void testStreamRunResultIgnoresPage() {
+        UUID resultUuid = UUID.randomUUID();
+        createResult(resultUuid);
+        fillResult(resultUuid);
+
+        var pagedSelector = ResultsSelector.builder()
+            .tabSelection(ResultTab.N_K)
+            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+            .sortKeysWithWeightAndDirection(Map.of(SortKey.POST_SENSITIVITY, 1))
+            .pageNumber(1)
+            .pageSize(3)
+            .build();
+        List<SensitivityOfTo> streamed = new ArrayList<>();
+        sensitivityAnalysisResultService.streamRunResult(resultUuid, pagedSelector, null, streamed::add);
+        assertThat(streamed.stream().map(s -> (SensitivityWithContingency) s).map(SensitivityWithContingency::getValueAfter).toList())
+            .containsExactly(-1.0, -0.4, 0.2, 0.3, 0.5, 0.6, 0.8, 0.9);
+    }
+
+    @Test
+    void testGetSensitivitiesByKeys() {
+        UUID resultUuid = UUID.randomUUID();
+        createResult(resultUuid);
+        fillResult(resultUuid);
+
+        List<SensitivityKey> keys = List.of(
+            new SensitivityKey(BRANCH_ID2, GEN_ID2, CONTINGENCY_ID2),
+            new SensitivityKey(BRANCH_ID1, GEN_ID1, null),
+            new SensitivityKey("unknownBranch", GEN_ID1, null),
+            new SensitivityKey(BRANCH_ID1, GEN_ID2, CONTINGENCY_ID1)
+        );
+        SQLStatementCountValidator.reset();
+        List<SensitivityOfTo> sensitivities = sensitivityAnalysisResultService.getSensitivities(resultUuid, SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, keys);
+        // the existence check, then one query per tab whatever the number of keys
+        assertRequestsCount(3, 0, 0, 0);
+        assertThat(sensitivities).hasSize(4);
+        assertThat(sensitivities.get(0)).isInstanceOf(SensitivityWithContingency.class);
+        assertThat(((SensitivityWithContingency) sensitivities.get(0)).getValueAfter()).isEqualTo(-0.4);
+        assertThat(((SensitivityWithContingency) sensitivities.get(0)).getValue()).isEqualTo(1.0);
+        assertThat(sensitivities.get(1)).isNotInstanceOf(SensitivityWithContingency.class);
+        assertThat(sensitivities.get(1).getValue()).isEqualTo(0.1);
+        assertThat(sensitivities.get(2)).isNull();
+        assertThat(((SensitivityWithContingency) sensitivities.get(3)).getValueAfter()).isEqualTo(0.5);
+        assertThat(sensitivities.stream().filter(Objects::nonNull).map(SensitivityKey::of).toList())
+            .containsExactly(keys.get(0), keys.get(1), keys.get(3));
+
+        assertThat(sensitivityAnalysisResultService.getSensitivities(UUID.randomUUID(), SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, keys)).isNull();
+    }
+
+    @Test
+    void testGetSensitivitiesByManyKeys() {
+        UUID resultUuid = UUID.randomUUID();
+        createResult(resultUuid);
+        fillResult(resultUuid);
+
+        List<SensitivityKey> keys = new ArrayList<>(IntStream.range(0, 5000)
+            .mapToObj(i -> new SensitivityKey("branch" + i, GEN_ID1, null))
+            .toList());
+        keys.add(new SensitivityKey(BRANCH_ID2, GEN_ID1, null));
+
+        SQLStatementCountValidator.reset();
+        List<SensitivityOfTo> sensitivities = sensitivityAnalysisResultService.getSensitivities(resultUuid, SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, keys);
+        assertRequestsCount(2, 0, 0, 0);
+        assertThat(sensitivities).hasSize(5001);
+        assertThat(sensitivities.subList(0, 5000)).containsOnlyNulls();
+        assertThat(sensitivities.get(5000).getValue()).isEqualTo(0.7);
+    }
+
     @Test
     void testGetRunResultPagedInNKSortedBySensitivitiesAfterContingency() {
         UUID resultUuid = UUID.randomUUID();
@@ -217,6 +345,46 @@ class SensitivityAnalysisResultServiceTest {
         assertThat(sensitivities).isEmpty();
     }
 
+    @Test
+    void testGetContingencyImpacts() {
+        UUID resultUuid = UUID.randomUUID();
+        createResult(resultUuid);
+        fillResult(resultUuid);
+        sensitivityAnalysisResultService.insertContingencyImpacts(resultUuid);
+
+        var selector = ContingencyImpactsSelector.builder()
+            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+            .build();
+        var result = sensitivityAnalysisResultService.getContingencyImpacts(resultUuid, selector);
+        assertThat(result).isNotNull();
+        assertThat(result.getTotalContingenciesCount()).isEqualTo(2L);
+        assertThat(result.getContingencyImpacts())
+            .extracting(ContingencyImpact::contingencyId)
+            .containsExactly(CONTINGENCY_ID1, CONTINGENCY_ID2);
+        ContingencyImpact impact1 = result.getContingencyImpacts().get(0);
+        assertThat(impact1.maxDelta()).isCloseTo(2.0, offset(1e-9));
+        assertThat(impact1.maxPostFunctionReference()).isEqualTo(511.);
+        assertThat(impact1.impactedFactorCount()).isEqualTo(4L);
+
+        var pagedSelector = ContingencyImpactsSelector.builder()
+            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
+            .sortKeysWithWeightAndDirection(Map.of(ContingencyImpactSortKey.MAX_POST_REFERENCE, -1))
+            .pageNumber(0)
+            .pageSize(1)
+            .build();
+        var pagedResult = sensitivityAnalysisResultService.getContingencyImpacts(resultUuid, pagedSelector);
+        assertThat(pagedResult.getTotalContingenciesCount()).isEqualTo(2L);
+        assertThat(pagedResult.getContingencyImpacts())
+            .extracting(ContingencyImpact::contingencyId)
+            .containsExactly(CONTINGENCY_ID2);
+
+        var otherFunctionTypeSelector = ContingencyImpactsSelector.builder()
+            .functionType(SensitivityFunctionType.BRANCH_CURRENT_1)
+            .build();
+        assertThat(sensitivityAnalysisResultService.getContingencyImpacts(resultUuid, otherFunctionTypeSelector).getContingencyImpacts()).isEmpty();
+        assertThat(sensitivityAnalysisResultService.getContingencyImpacts(UUID.randomUUID(), selector)).isNull();
+    }
+
     @Test
     void testNotFailingWhenWritingContingencyResultThatDoesNotExist() {
         UUID resultUuid = UUID.randomUUID();
@@ -230,15 +398,10 @@ class SensitivityAnalysisResultServiceTest {
     }
 
     private void createResult(UUID resultUuid) {
-        List<Contingency> contingencies = List.of(
-            Contingency.builder(CONTINGENCY_ID1).build(),
-            Contingency.builder(CONTINGENCY_ID2).build()
-        );
-        List<List<SensitivityFactor>> factors = createFactors(List.of(BRANCH_ID1, BRANCH_ID2), List.of(GEN_ID1, GEN_ID2), contingencies);
         var analysisResult = sensitivityAnalysisResultService.insertAnalysisResult(resultUuid);
-        Map<String, ContingencyResultEntity> contingencyResultsByContingencyId = SensitivityResultsBuilder.buildContingencyResults(contingencies, analysisResult);
+        Map<String, ContingencyResultEntity> contingencyResultsByContingencyId = SensitivityResultsBuilder.buildContingencyResults(CONTINGENCIES, analysisResult);
         sensitivityAnalysisResultService.saveAllContingencyResultsAndFlush(contingencyResultsByContingencyId.values().stream().collect(Collectors.toSet()));
-        var results = SensitivityResultsBuilder.buildSensitivityResults(factors, analysisResult, contingencyResultsByContingencyId);
+        var results = SensitivityResultsBuilder.buildSensitivityResults(FACTORS, analysisResult, contingencyResultsByContingencyId);
         sensitivityAnalysisResultService.saveAllResultsAndFlush(results.getLeft());
         sensitivityAnalysisResultService.saveAllResultsAndFlush(results.getRight());
     }
@@ -258,26 +421,11 @@ class SensitivityAnalysisResultServiceTest {
             new SensitivityValue(10, 1, -1, -1.0, 511),
             new SensitivityValue(11, 0, -1, -0.4, 512)
         ));
-        sensitivityAnalysisResultService.writeSensitivityValues(resultUuid, sensitivityValues);
-    }
-
-    private static List<List<SensitivityFactor>> createFactors(List<String> branchIds, List<String> variableIds, List<Contingency> contingencies) {
-        return branchIds.stream().flatMap(branchId -> variableIds.stream().map(variableId -> createFactors(branchId, variableId, contingencies))).toList();
+        sensitivityAnalysisResultService.writeSensitivityValues(resultUuid, sensitivityValues, new SensitivityFactorsIndex(FACTORS));
     }
 
-    private static List<SensitivityFactor> createFactors(String branchId, String variableId, List<Contingency> contingencies) {
-        List<SensitivityFactor> factors = Lists.newArrayList();
-        factors.add(new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, branchId, SensitivityVariableType.INJECTION_ACTIVE_POWER, variableId, false, ContingencyContext.none()));
-        factors.addAll(
-            contingencies.stream()
-                .map(c -> new SensitivityFactor(
-                    SensitivityFunctionType.BRANCH_ACTIVE_POWER_1,
-                    branchId,
-                    SensitivityVariableType.INJECTION_ACTIVE_POWER,
-                    variableId,
-                    false,
-                    ContingencyContext.specificContingency(c.getId())))
-                .toList());
-        return factors;
+    private static List<SensitivityFactorsGroup> createFactors(List<String> branchIds, List<String> variableIds, List<Contingency> contingencies) {
+        return List.of(new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, branchIds, SensitivityVariableType.INJECTION_ACTIVE_POWER, variableIds, false,
+            contingencies.stream().map(Contingency::getId).toList()));
     }
 }
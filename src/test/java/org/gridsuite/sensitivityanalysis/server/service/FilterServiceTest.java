@@ -12,6 +12,7 @@ import com.powsybl.iidm.network.Country;
 import com.powsybl.iidm.network.IdentifiableType;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
 import mockwebserver3.Dispatcher;
@@ -40,6 +41,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -50,6 +52,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -119,7 +122,8 @@ class FilterServiceTest {
 
     @BeforeEach
     void setUp(final MockWebServer mockWebServer) throws Exception {
-        filterService = new FilterService(restTemplateBuilder, networkStoreService, initMockWebServer(mockWebServer));
+        filterService = new FilterService(restTemplateBuilder, networkStoreService, initMockWebServer(mockWebServer), Duration.ofMinutes(1), 1000, objectMapper,
+            new RemoteInputsCache(Duration.ofMinutes(1), 1000));
         when(networkStoreService.getNetwork(eq(NOT_FOUND_NETWORK_ID), any(PreloadingStrategy.class))).thenThrow(new PowsyblException());
         doNothing().when(variantManager).setWorkingVariant(anyString());
         when(networkStoreService.getNetwork(eq(TEST_NETWORK_ID), any(PreloadingStrategy.class))).then((Answer<Network>) invocation -> network);
@@ -299,6 +303,30 @@ class FilterServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    void testGetResourceFilterIsCached() {
+        UUID networkUuid = UUID.randomUUID();
+        GlobalFilter globalFilter = GlobalFilter.builder()
+                .genericFilter(List.of(LIST_UUID))
+                .countryCode(List.of(Country.FR, Country.DE))
+                .build();
+        GlobalFilter equivalentGlobalFilter = GlobalFilter.builder()
+                .genericFilter(List.of(LIST_UUID))
+                .countryCode(List.of(Country.DE, Country.FR))
+                .substationProperty(Map.of())
+                .build();
+
+        when(network.getVariantManager()).thenReturn(variantManager);
+        when(networkStoreService.getNetwork(any(UUID.class), any(PreloadingStrategy.class))).thenReturn(network);
+
+        Optional<ResourceFilterDTO> result = filterService.getResourceFilter(networkUuid, VARIANT_ID, globalFilter);
+        int networkStoreCalls = Mockito.mockingDetails(networkStoreService).getInvocations().size();
+        Optional<ResourceFilterDTO> cachedResult = filterService.getResourceFilter(networkUuid, VARIANT_ID, equivalentGlobalFilter);
+
+        assertEquals(result, cachedResult);
+        assertEquals(networkStoreCalls, Mockito.mockingDetails(networkStoreService).getInvocations().size());
+    }
+
     @Test
     void testGetFilters() {
         List<AbstractFilter> result = filterService.getFilters(List.of());
@@ -309,6 +337,21 @@ class FilterServiceTest {
         assertNotNull(filters);
     }
 
+    @Test
+    void testEvaluateFilters(final MockWebServer mockWebServer) {
+        Network eurostagNetwork = EurostagTutorialExample1Factory.create();
+        // the filter selects the generators at 220 kV, none in this network
+        List<FilterEquipments> filterEquipments = filterService.evaluateFilters(List.of(LIST_UUID), eurostagNetwork);
+        assertEquals(1, filterEquipments.size());
+        assertEquals(LIST_UUID, filterEquipments.getFirst().getFilterId());
+        assertTrue(filterEquipments.getFirst().getIdentifiableAttributes().isEmpty());
+
+        // the definition is cached : no other request
+        int requestCount = mockWebServer.getRequestCount();
+        assertEquals(1, filterService.evaluateFilters(List.of(LIST_UUID), eurostagNetwork).size());
+        assertEquals(requestCount, mockWebServer.getRequestCount());
+    }
+
     @Test
     void testGetIdentifiablesFromFilter() {
         List<IdentifiableAttributes> result = filterService.getIdentifiablesFromFilter(LIST_UUID, UUID.fromString(NETWORK_UUID), null);
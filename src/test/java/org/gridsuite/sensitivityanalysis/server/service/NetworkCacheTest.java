@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.service;
+
+import com.powsybl.iidm.network.IdentifiableType;
+import org.gridsuite.sensitivityanalysis.server.dto.IdentifiableAttributes;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkCacheTest {
+
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+    private static final String VARIANT_ID = "variant";
+
+    @Test
+    void testVoltageLevelBusesCached() {
+        NetworkCache networkCache = new NetworkCache(Duration.ofMinutes(1), 100);
+        List<IdentifiableAttributes> buses = List.of(new IdentifiableAttributes("VLGEN_0", IdentifiableType.BUS, null));
+        assertEquals(buses, networkCache.getVoltageLevelBuses(NETWORK_UUID, VARIANT_ID, "VLGEN", () -> buses));
+        assertEquals(buses, networkCache.getVoltageLevelBuses(NETWORK_UUID, VARIANT_ID, "VLGEN", () -> fail("buses should be reused")));
+        assertEquals(OptionalInt.of(1), networkCache.getVoltageLevelBusCount(NETWORK_UUID, VARIANT_ID, "VLGEN"));
+
+        networkCache.invalidateNetwork(NETWORK_UUID);
+        assertEquals(OptionalInt.empty(), networkCache.getVoltageLevelBusCount(NETWORK_UUID, VARIANT_ID, "VLGEN"));
+    }
+
+    @Test
+    void testDisabledCache() {
+        NetworkCache networkCache = new NetworkCache(Duration.ofMinutes(1), 0);
+        List<IdentifiableAttributes> buses = List.of(new IdentifiableAttributes("VLGEN_0", IdentifiableType.BUS, null));
+        assertEquals(buses, networkCache.getVoltageLevelBuses(NETWORK_UUID, VARIANT_ID, "VLGEN", () -> buses));
+        assertEquals(OptionalInt.empty(), networkCache.getVoltageLevelBusCount(NETWORK_UUID, VARIANT_ID, "VLGEN"));
+    }
+}
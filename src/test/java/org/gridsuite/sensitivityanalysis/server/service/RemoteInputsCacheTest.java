@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.service;
+
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.IdentifiableType;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.sensitivityanalysis.server.dto.ContingencyListExportResult;
+import org.gridsuite.sensitivityanalysis.server.dto.FilterEquipments;
+import org.gridsuite.sensitivityanalysis.server.dto.IdentifiableAttributes;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteInputsCacheTest {
+
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+    private static final UUID OTHER_NETWORK_UUID = UUID.randomUUID();
+    private static final String VARIANT_ID = "variant";
+    private static final UUID CONTINGENCY_LIST_UUID = UUID.randomUUID();
+    private static final UUID FILTER_UUID = UUID.randomUUID();
+
+    private final RemoteInputsCache cache = new RemoteInputsCache(Duration.ofMinutes(1), 1000);
+
+    @Test
+    void testContingencyListIsLoadedOncePerVariant() {
+        AtomicInteger loadCount = new AtomicInteger();
+        ContingencyListExportResult contingencyList = new ContingencyListExportResult(List.of(new Contingency("c1")), List.of());
+
+        assertSame(contingencyList, cache.getContingencyList(CONTINGENCY_LIST_UUID, NETWORK_UUID, VARIANT_ID, () -> {
+            loadCount.incrementAndGet();
+            return contingencyList;
+        }));
+        assertSame(contingencyList, cache.getContingencyList(CONTINGENCY_LIST_UUID, NETWORK_UUID, VARIANT_ID, () -> {
+            loadCount.incrementAndGet();
+            return contingencyList;
+        }));
+        assertEquals(1, loadCount.get());
+        assertTrue(cache.getContingencyList(CONTINGENCY_LIST_UUID, NETWORK_UUID, VARIANT_ID).isPresent());
+        assertTrue(cache.getContingencyList(CONTINGENCY_LIST_UUID, NETWORK_UUID, null).isEmpty());
+
+        cache.invalidate(List.of(CONTINGENCY_LIST_UUID));
+        assertTrue(cache.getContingencyList(CONTINGENCY_LIST_UUID, NETWORK_UUID, VARIANT_ID).isEmpty());
+    }
+
+    @Test
+    void testFiltersInvalidation() {
+        FilterEquipments filterEquipments = new FilterEquipments(FILTER_UUID, List.of(new IdentifiableAttributes("gen1", IdentifiableType.GENERATOR, null)), List.of());
+        cache.putFilter(filterEquipments, NETWORK_UUID, VARIANT_ID);
+        cache.putFilter(filterEquipments, OTHER_NETWORK_UUID, VARIANT_ID);
+
+        assertSame(filterEquipments, cache.getFilters(List.of(FILTER_UUID, UUID.randomUUID()), NETWORK_UUID, VARIANT_ID).get(FILTER_UUID));
+
+        cache.invalidateNetwork(NETWORK_UUID);
+        assertTrue(cache.getFilters(List.of(FILTER_UUID), NETWORK_UUID, VARIANT_ID).isEmpty());
+        assertEquals(1, cache.getFilters(List.of(FILTER_UUID), OTHER_NETWORK_UUID, VARIANT_ID).size());
+
+        cache.invalidateAll();
+        assertTrue(cache.getFilters(List.of(FILTER_UUID), OTHER_NETWORK_UUID, VARIANT_ID).isEmpty());
+    }
+
+    @Test
+    void testFilterDefinitionsAreLoadedOnce() {
+        AtomicInteger loadCount = new AtomicInteger();
+        AbstractFilter filter = new ExpertFilter(FILTER_UUID, new Date(), EquipmentType.GENERATOR, null);
+        UUID missingFilterUuid = UUID.randomUUID();
+
+        Map<UUID, AbstractFilter> definitions = cache.getFilterDefinitions(List.of(FILTER_UUID, missingFilterUuid), ids -> {
+            loadCount.incrementAndGet();
+            return List.of(filter);
+        });
+        assertSame(filter, definitions.get(FILTER_UUID));
+        assertFalse(definitions.containsKey(missingFilterUuid));
+        assertSame(filter, cache.getFilterDefinitions(List.of(FILTER_UUID), ids -> {
+            loadCount.incrementAndGet();
+            return List.of();
+        }).get(FILTER_UUID));
+        assertEquals(1, loadCount.get());
+
+        cache.invalidate(List.of(FILTER_UUID));
+        assertTrue(cache.getFilterDefinitions(List.of(FILTER_UUID), ids -> List.of()).isEmpty());
+    }
+}
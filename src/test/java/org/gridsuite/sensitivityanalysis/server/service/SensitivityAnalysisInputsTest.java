@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.service;
+
+import com.powsybl.contingency.BranchContingency;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyContextType;
+import com.powsybl.contingency.GeneratorContingency;
+import com.powsybl.sensitivity.SensitivityAnalysisResult;
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import com.powsybl.sensitivity.SensitivityResultModelWriter;
+import com.powsybl.sensitivity.SensitivityResultWriter;
+import com.powsybl.sensitivity.SensitivityValue;
+import com.powsybl.sensitivity.SensitivityVariableSet;
+import com.powsybl.sensitivity.SensitivityVariableType;
+import com.powsybl.sensitivity.WeightedSensitivityVariable;
+import org.gridsuite.sensitivityanalysis.server.util.ProviderIndexesResultWriter;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroup;
+import org.gridsuite.sensitivityanalysis.server.util.SensitivityFactorsGroupReader;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class SensitivityAnalysisInputsTest {
+
+    @Test
+    void testEquivalentContingenciesAreSimulatedOnce() {
+        SensitivityAnalysisInputs inputs = new SensitivityAnalysisInputs();
+        inputs.addContingencies(List.of(
+            new Contingency("c1", new BranchContingency("line1"), new GeneratorContingency("gen1")),
+            new Contingency("c2", new BranchContingency("line2"))));
+        inputs.addContingencies(List.of(
+            new Contingency("c1", new BranchContingency("line1"), new GeneratorContingency("gen1")),
+            new Contingency("c3", new GeneratorContingency("gen1"), new BranchContingency("line1")),
+            new Contingency("c4", new BranchContingency("line2")),
+            new Contingency("c5", new GeneratorContingency("line2"))));
+
+        assertEquals(List.of("c1", "c2", "c5", "c3", "c4"), inputs.getContingencies().stream().map(Contingency::getId).toList());
+        assertEquals(List.of("c1", "c2", "c5"), inputs.getSimulatedContingencies().stream().map(Contingency::getId).toList());
+        assertEquals(Map.of("c1", "c1", "c2", "c2", "c3", "c1", "c4", "c2", "c5", "c5"), inputs.getSimulatedContingencyIds());
+        assertEquals(Map.of(0, List.of(3), 1, List.of(4)), inputs.getAliasContingencyIndexes());
+
+        // the status of a simulated contingency is also written to its aliases
+        SensitivityResultWriter writer = mock(SensitivityResultWriter.class);
+        new ProviderIndexesResultWriter(writer, IntUnaryOperator.identity(), inputs.getFactorContingencyIndexes(), inputs.getAliasContingencyIndexes())
+            .writeStateStatus(1, -1, SensitivityAnalysisResult.Status.SUCCESS);
+        verify(writer).writeStateStatus(1, -1, SensitivityAnalysisResult.Status.SUCCESS);
+        verify(writer).writeStateStatus(4, -1, SensitivityAnalysisResult.Status.SUCCESS);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    void testValuesOfAliasesAreWrittenOnTheirContingency() {
+        SensitivityAnalysisInputs inputs = new SensitivityAnalysisInputs();
+        List<Contingency> contingencies = List.of(
+            new Contingency("c1", new BranchContingency("line1")),
+            new Contingency("c2", new BranchContingency("line2")),
+            new Contingency("c3", new BranchContingency("line1")));
+        inputs.addContingencies(contingencies);
+        inputs.addSensitivityFactorsGroup(new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, List.of("line3"),
+            SensitivityVariableType.INJECTION_ACTIVE_POWER, List.of("gen1"), false, List.of("c1", "c2", "c3")));
+        Map<String, Integer> simulatedContingencyIndexes = Map.of("c1", 0, "c2", 1);
+
+        // as an in memory run : the provider gives the values of the alias on the simulated contingency
+        SensitivityFactorsGroupReader reader = new SensitivityFactorsGroupReader(inputs.getFactorsGroups(), inputs.getSimulatedContingencyIds());
+        SensitivityResultModelWriter writer = new SensitivityResultModelWriter(inputs.getContingencies(), List.of());
+        SensitivityResultWriter providerWriter = new ProviderIndexesResultWriter(writer, reader::getFactorIndex,
+            inputs.getFactorContingencyIndexes(), inputs.getAliasContingencyIndexes());
+        AtomicInteger readIndex = new AtomicInteger();
+        reader.read((functionType, functionId, variableType, variableId, variableSet, contingencyContext) -> {
+            int index = readIndex.getAndIncrement();
+            int contingencyIndex = contingencyContext.getContextType() == ContingencyContextType.SPECIFIC
+                ? simulatedContingencyIndexes.get(contingencyContext.getContingencyId())
+                : -1;
+            providerWriter.writeSensitivityValue(index, contingencyIndex, -1, contingencyIndex, 0);
+        });
+
+        // by factor index : the pre-contingency factor, then one factor per contingency of the group
+        List<SensitivityValue> values = writer.getValues().stream().sorted(Comparator.comparingInt(SensitivityValue::getFactorIndex)).toList();
+        assertEquals(List.of(-1, 0, 1, 2), values.stream().map(SensitivityValue::getContingencyIndex).toList());
+        assertEquals(List.of("c1", "c2", "c3"), inputs.getContingencies().stream().map(Contingency::getId).toList());
+        // the value of the alias is the one of its simulated contingency
+        assertEquals(0.0, values.get(3).getValue());
+    }
+
+    @Test
+    void testSharedVariableSetsAreGivenOnce() {
+        SensitivityAnalysisInputs inputs = new SensitivityAnalysisInputs();
+        List<WeightedSensitivityVariable> variables = List.of(new WeightedSensitivityVariable("gen1", 1));
+        List<SensitivityVariableSet> regularSets = List.of(new SensitivityVariableSet("[filter] (REGULAR)", variables));
+        List<SensitivityVariableSet> proportionalSets = List.of(new SensitivityVariableSet("[filter] (PROPORTIONAL)", variables));
+        inputs.addSensitivityVariableSets(regularSets);
+        inputs.addSensitivityVariableSets(proportionalSets);
+        inputs.addSensitivityVariableSets(regularSets);
+
+        // the same filters with another distribution type are another set
+        assertEquals(List.of("[filter] (REGULAR)", "[filter] (PROPORTIONAL)"), inputs.getVariablesSets().stream().map(SensitivityVariableSet::getId).toList());
+    }
+
+    @Test
+    void testBranchOpenedOnOneSideIsAnotherOutage() {
+        SensitivityAnalysisInputs inputs = new SensitivityAnalysisInputs();
+        inputs.addContingencies(List.of(
+            new Contingency("full", new BranchContingency("line1")),
+            new Contingency("side1", new BranchContingency("line1", "vl1")),
+            new Contingency("side2", new BranchContingency("line1", "vl2")),
+            new Contingency("fullAlias", new BranchContingency("line1")),
+            new Contingency("side1Alias", new BranchContingency("line1", "vl1"))));
+
+        assertEquals(List.of("full", "side1", "side2"), inputs.getSimulatedContingencies().stream().map(Contingency::getId).toList());
+        assertEquals(Map.of("full", "full", "side1", "side1", "side2", "side2", "fullAlias", "full", "side1Alias", "side1"),
+            inputs.getSimulatedContingencyIds());
+    }
+}
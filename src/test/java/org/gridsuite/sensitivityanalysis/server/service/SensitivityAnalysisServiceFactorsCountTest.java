@@ -6,6 +6,8 @@
  */
 package org.gridsuite.sensitivityanalysis.server.service;
 
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.IdentifiableType;
 import org.gridsuite.sensitivityanalysis.server.dto.*;
 import org.gridsuite.sensitivityanalysis.server.dto.parameters.FactorCount;
 import org.gridsuite.sensitivityanalysis.server.dto.parameters.SensitivityAnalysisParametersInfos;
@@ -35,6 +37,12 @@ class SensitivityAnalysisServiceFactorsCountTest {
     @Mock
     private FilterService filterService;
 
+    @Mock
+    private RemoteInputsCache remoteInputsCache;
+
+    @Mock
+    private NetworkCache networkCache;
+
     @InjectMocks
     private SensitivityAnalysisFactorCountService factorCountService;
 
@@ -237,6 +245,42 @@ class SensitivityAnalysisServiceFactorsCountTest {
         assertEquals(12L, result.resultCount(), "3 monitored × 2 variables × 1 (base) × 2 (empirical factor)");
     }
 
+    @Test
+    void testNodesWithCachedBusCounts() {
+        SensitivityAnalysisParametersInfos parameters = createParameters(
+                null, null, null, null,
+                List.of(new SensitivityNodes(List.of(VOLTAGE_LEVEL1_UUID),
+                        List.of(EQUIPMENT_REGULATION1_UUID), List.of(), true))
+        );
+
+        Map<UUID, FilterEquipments> cachedFilters = Map.of(
+                VOLTAGE_LEVEL1_UUID, new FilterEquipments(VOLTAGE_LEVEL1_UUID, List.of(new IdentifiableAttributes("vl1", IdentifiableType.VOLTAGE_LEVEL, null),
+                        new IdentifiableAttributes("vl2", IdentifiableType.VOLTAGE_LEVEL, null)), List.of()),
+                EQUIPMENT_REGULATION1_UUID, new FilterEquipments(EQUIPMENT_REGULATION1_UUID, List.of(new IdentifiableAttributes("gen1", IdentifiableType.GENERATOR, null),
+                        new IdentifiableAttributes("gen2", IdentifiableType.GENERATOR, null)), List.of()));
+        when(remoteInputsCache.getFilters(anyCollection(), eq(NETWORK_UUID), eq(VARIANT_ID))).thenAnswer(invocation -> {
+            Map<UUID, FilterEquipments> filters = new HashMap<>();
+            invocation.<Collection<UUID>>getArgument(0).forEach(filterId -> filters.put(filterId, cachedFilters.get(filterId)));
+            return filters;
+        });
+        when(networkCache.getVoltageLevelBusCount(NETWORK_UUID, VARIANT_ID, "vl1")).thenReturn(OptionalInt.of(3));
+        when(networkCache.getVoltageLevelBusCount(NETWORK_UUID, VARIANT_ID, "vl2")).thenReturn(OptionalInt.of(1));
+
+        FactorCount result = factorCountService.getFactorCount(
+                NETWORK_UUID, VARIANT_ID,
+                parameters.getSensitivityInjectionsSet(),
+                parameters.getSensitivityInjection(),
+                parameters.getSensitivityHVDC(),
+                parameters.getSensitivityPST(),
+                parameters.getSensitivityNodes(),
+                false
+        );
+
+        assertEquals(2L, result.variableCount());
+        assertEquals(8L, result.resultCount(), "4 monitored buses × 2 variables × 1 (base)");
+        verifyNoInteractions(filterService, actionsService);
+    }
+
     @Test
     void testInactivatedFactorsAreIgnored() {
         SensitivityAnalysisParametersInfos parameters = createParameters(
@@ -440,6 +484,42 @@ class SensitivityAnalysisServiceFactorsCountTest {
         assertEquals("Some filters or contingencies lists are not found", exception.getMessage());
     }
 
+    @Test
+    void testCountFromCachedFiltersAndContingencyLists() {
+        SensitivityAnalysisParametersInfos parameters = createParameters(
+                null,
+                List.of(new SensitivityInjection(List.of(BRANCH1_UUID), List.of(GEN1_UUID, GEN2_UUID), List.of(CONTINGENCY1_UUID), true)),
+                null, null, null
+        );
+
+        Map<UUID, FilterEquipments> cachedFilters = Map.of(
+                BRANCH1_UUID, new FilterEquipments(BRANCH1_UUID, List.of(new IdentifiableAttributes("branch1", IdentifiableType.LINE, null)), List.of()),
+                GEN1_UUID, new FilterEquipments(GEN1_UUID, List.of(new IdentifiableAttributes("gen1", IdentifiableType.GENERATOR, null)), List.of()),
+                GEN2_UUID, new FilterEquipments(GEN2_UUID, List.of(new IdentifiableAttributes("gen2", IdentifiableType.GENERATOR, null),
+                        new IdentifiableAttributes("gen3", IdentifiableType.GENERATOR, null)), List.of()));
+        when(remoteInputsCache.getFilters(anyCollection(), eq(NETWORK_UUID), eq(VARIANT_ID))).thenAnswer(invocation -> {
+            Map<UUID, FilterEquipments> filters = new HashMap<>();
+            invocation.<Collection<UUID>>getArgument(0).forEach(filterId -> filters.put(filterId, cachedFilters.get(filterId)));
+            return filters;
+        });
+        when(remoteInputsCache.getContingencyList(CONTINGENCY1_UUID, NETWORK_UUID, VARIANT_ID))
+                .thenReturn(Optional.of(new ContingencyListExportResult(List.of(new Contingency("c1"), new Contingency("c2")), List.of())));
+
+        FactorCount result = factorCountService.getFactorCount(
+                NETWORK_UUID, VARIANT_ID,
+                parameters.getSensitivityInjectionsSet(),
+                parameters.getSensitivityInjection(),
+                parameters.getSensitivityHVDC(),
+                parameters.getSensitivityPST(),
+                parameters.getSensitivityNodes(),
+                false
+        );
+
+        assertEquals(3L, result.variableCount());
+        assertEquals(9L, result.resultCount(), "1 monitored × 3 variables × (1 base + 2 contingencies) = 9");
+        verifyNoInteractions(filterService, actionsService);
+    }
+
     private SensitivityAnalysisParametersInfos createParameters(
             List<SensitivityInjectionsSet> injectionsSet,
             List<SensitivityInjection> injections,
@@ -22,8 +22,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.gridsuite.sensitivityanalysis.server.util.TestUtils.DEFAULT_PROVIDER;
@@ -33,6 +36,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -169,22 +173,12 @@ class SensitivityAnalysisServiceTest {
 
     @Test
     void testExportCsvInN() throws Exception {
-        given(sensitivityAnalysisResultService.getRunResult(any(), any(), any())).willReturn(
-            SensitivityRunQueryResult.builder()
-                .resultTab(ResultTab.N)
-                .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
-                .sensitivities(List.of(
-                    SensitivityOfTo.builder()
-                        .varId("varId1")
-                        .funcId("funcId1")
-                        .value(0.1)
-                        .functionReference(100)
-                        .build()
-                ))
-                .requestedChunkSize(10)
-                .chunkOffset(0)
-                .totalSensitivitiesCount(1L)
-                .filteredSensitivitiesCount(1L)
+        givenStreamedSensitivities(
+            SensitivityOfTo.builder()
+                .varId("varId1")
+                .funcId("funcId1")
+                .value(0.1)
+                .functionReference(100)
                 .build()
         );
 
@@ -199,8 +193,9 @@ class SensitivityAnalysisServiceTest {
                 .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
                 .build();
 
-        byte[] zip = analysisService.exportSensitivityResultsAsCsv(UUID.randomUUID(), sensitivityAnalysisCsvFileInfos, null, null, selector, null, null);
-        byte[] csv = unzip(zip);
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        analysisService.exportSensitivityResultsAsCsv(UUID.randomUUID(), sensitivityAnalysisCsvFileInfos, selector, List.of(), zip);
+        byte[] csv = unzip(zip.toByteArray());
         String csvStr = new String(csv, StandardCharsets.UTF_8);
         List<String> actualLines = Arrays.asList(csvStr.split("\n"));
 
@@ -215,20 +210,15 @@ class SensitivityAnalysisServiceTest {
 
     @Test
     void testExportCsvInNK() throws Exception {
-        given(sensitivityAnalysisResultService.getRunResult(any(), any(), any())).willReturn(
-            getDefaultQueryBuilder()
-                .resultTab(ResultTab.N_K)
-                .sensitivities(List.of(
-                    SensitivityWithContingency.builder()
-                        .varId("varId1")
-                        .funcId("funcId1")
-                        .value(0.1)
-                        .functionReference(100)
-                        .valueAfter(0.2)
-                        .functionReferenceAfter(200)
-                        .contingencyId("contingencyId1")
-                        .build()
-                ))
+        givenStreamedSensitivities(
+            SensitivityWithContingency.builder()
+                .varId("varId1")
+                .funcId("funcId1")
+                .value(0.1)
+                .functionReference(100)
+                .valueAfter(0.2)
+                .functionReferenceAfter(200)
+                .contingencyId("contingencyId1")
                 .build()
         );
 
@@ -243,8 +233,9 @@ class SensitivityAnalysisServiceTest {
                 .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
                 .build();
 
-        byte[] zip = analysisService.exportSensitivityResultsAsCsv(UUID.randomUUID(), sensitivityAnalysisCsvFileInfos, null, null, selector, null, null);
-        byte[] csv = unzip(zip);
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        analysisService.exportSensitivityResultsAsCsv(UUID.randomUUID(), sensitivityAnalysisCsvFileInfos, selector, List.of(), zip);
+        byte[] csv = unzip(zip.toByteArray());
         String csvStr = new String(csv, StandardCharsets.UTF_8);
         List<String> actualLines = Arrays.asList(csvStr.split("\n"));
 
@@ -266,15 +257,23 @@ class SensitivityAnalysisServiceTest {
             .language("en")
             .build();
         final UUID resultUuid = UUID.randomUUID();
-        assertThrows(ComputationException.class, () -> analysisService.exportSensitivityResultsAsCsv(resultUuid, sensitivityAnalysisCsvFileInfos, null, null, null, null, null));
+        OutputStream outputStream = OutputStream.nullOutputStream();
+        assertThrows(ComputationException.class, () -> analysisService.exportSensitivityResultsAsCsv(resultUuid, sensitivityAnalysisCsvFileInfos, null, List.of(), outputStream));
+    }
+
+    @Test
+    void testArchiveThreadsAreBoundedByTheReadPool() {
+        assertThat(SensitivityAnalysisService.getArchiveThreads(2, 10)).isEqualTo(2);
+        assertThat(SensitivityAnalysisService.getArchiveThreads(8, 10)).isEqualTo(2);
+        assertThat(SensitivityAnalysisService.getArchiveThreads(4, 2)).isEqualTo(1);
     }
 
-    private static SensitivityRunQueryResult.SensitivityRunQueryResultBuilder getDefaultQueryBuilder() {
-        return SensitivityRunQueryResult.builder()
-            .functionType(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1)
-            .requestedChunkSize(10)
-            .chunkOffset(0)
-            .totalSensitivitiesCount(1L)
-            .filteredSensitivitiesCount(1L);
+    private void givenStreamedSensitivities(SensitivityOfTo... sensitivities) {
+        given(sensitivityAnalysisResultService.existsAnalysisResult(any())).willReturn(true);
+        doAnswer(invocation -> {
+            Consumer<SensitivityOfTo> consumer = invocation.getArgument(3);
+            Arrays.stream(sensitivities).forEach(consumer);
+            return null;
+        }).when(sensitivityAnalysisResultService).streamRunResult(any(), any(), any(), any());
     }
 }
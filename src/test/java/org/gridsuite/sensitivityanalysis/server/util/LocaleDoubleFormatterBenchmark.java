@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the csv export number formatting through {@link NumberFormat} with the {@link LocaleDoubleFormatter}.
+ * Run it from the test classpath with the main method, the results are compared per formatted value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocaleDoubleFormatterBenchmark {
+
+    private static final int VALUE_COUNT = 1024;
+
+    @Param({"en", "fr"})
+    private String language;
+
+    private double[] values;
+    private CharArrayWriter writer;
+    private LocaleDoubleFormatter formatter;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        values = new double[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(8) - 3);
+        }
+        writer = new CharArrayWriter(64);
+        formatter = LocaleDoubleFormatter.forLanguage(language);
+    }
+
+    private double nextValue() {
+        index = (index + 1) & (VALUE_COUNT - 1);
+        return values[index];
+    }
+
+    @Benchmark
+    public int numberFormatPerCell() throws IOException {
+        // the previous export path : a number format instance and a boxed double per cell
+        Double value = nextValue();
+        NumberFormat nf = NumberFormat.getInstance("fr".equals(language) ? Locale.FRENCH : Locale.US);
+        nf.setGroupingUsed(false);
+        writer.reset();
+        writer.write(nf.format(value));
+        return writer.size();
+    }
+
+    @Benchmark
+    public int localeDoubleFormatter() throws IOException {
+        writer.reset();
+        formatter.write(nextValue(), writer);
+        return writer.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LocaleDoubleFormatterBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
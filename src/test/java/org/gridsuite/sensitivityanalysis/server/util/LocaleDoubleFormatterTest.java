@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocaleDoubleFormatterTest {
+
+    private static final double[] VALUES = {
+        0, -0.0, 1, -1, 0.1, 0.086, 75.51, 100, 0.0005, 0.0015, 0.0025, -0.0004, 1.0005, 2.5, 123456789.123456,
+        1e-10, 1e15, 1e20, -3.14159e18, Double.MAX_VALUE, Double.MIN_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    @Test
+    void testFormatLikeNumberFormat() {
+        for (String language : new String[] {"en", "fr"}) {
+            NumberFormat numberFormat = NumberFormat.getInstance("fr".equals(language) ? Locale.FRENCH : Locale.US);
+            numberFormat.setGroupingUsed(false);
+            LocaleDoubleFormatter formatter = LocaleDoubleFormatter.forLanguage(language);
+            for (double value : VALUES) {
+                assertEquals(numberFormat.format(value), formatter.format(value), "Formatting " + value + " in " + language);
+            }
+            Random random = new Random(42);
+            for (int i = 0; i < 100_000; i++) {
+                double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16) - 6);
+                assertEquals(numberFormat.format(value), formatter.format(value), "Formatting " + value + " in " + language);
+            }
+        }
+    }
+
+    @Test
+    void testFormatWithSeparatorAndFractionDigits() {
+        LocaleDoubleFormatter formatter = new LocaleDoubleFormatter(',', 1);
+        assertEquals("0,2", formatter.format(0.25));
+        assertEquals("0,3", formatter.format(0.35));
+        assertEquals("12", formatter.format(12.04));
+        assertEquals("-0", formatter.format(-0.01));
+    }
+}
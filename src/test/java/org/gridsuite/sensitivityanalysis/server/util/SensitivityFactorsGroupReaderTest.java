@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import com.powsybl.contingency.ContingencyContext;
+import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import com.powsybl.sensitivity.SensitivityVariableType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SensitivityFactorsGroupReaderTest {
+
+    @Test
+    void testReadFactors() {
+        SensitivityFactorsGroup withContingencies = new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, List.of("branch1", "branch2"),
+            SensitivityVariableType.INJECTION_ACTIVE_POWER, List.of("gen1", "gen2"), false, List.of("contingency1", "contingency2"));
+        SensitivityFactorsGroup withoutContingency = new SensitivityFactorsGroup(SensitivityFunctionType.BUS_VOLTAGE, List.of("bus1"),
+            SensitivityVariableType.BUS_TARGET_VOLTAGE, List.of("gen1"), false, List.of());
+        SensitivityFactorsGroup withoutVariable = new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_CURRENT_1, List.of("branch1"),
+            SensitivityVariableType.TRANSFORMER_PHASE, List.of(), false, List.of("contingency1"));
+
+        List<SensitivityFactor> factors = new SensitivityFactorsGroupReader(List.of(withContingencies, withoutVariable, withoutContingency)).readFactors();
+
+        assertEquals(12, withContingencies.getFactorCount());
+        assertEquals(0, withoutVariable.getFactorCount());
+        assertEquals(1, withoutContingency.getFactorCount());
+        assertEquals(13, factors.size());
+        assertFactor(factors.get(0), "branch1", "gen1", ContingencyContext.none());
+        assertFactor(factors.get(1), "branch1", "gen1", ContingencyContext.specificContingency("contingency1"));
+        assertFactor(factors.get(2), "branch1", "gen1", ContingencyContext.specificContingency("contingency2"));
+        assertFactor(factors.get(3), "branch1", "gen2", ContingencyContext.none());
+        assertFactor(factors.get(6), "branch2", "gen1", ContingencyContext.none());
+        assertFactor(factors.get(11), "branch2", "gen2", ContingencyContext.specificContingency("contingency2"));
+        assertFactor(factors.get(12), "bus1", "gen1", ContingencyContext.none());
+        assertEquals(SensitivityFunctionType.BUS_VOLTAGE, factors.get(12).getFunctionType());
+        assertEquals(SensitivityVariableType.BUS_TARGET_VOLTAGE, factors.get(12).getVariableType());
+    }
+
+    @Test
+    void testReadOrder() {
+        SensitivityFactorsGroup withContingencies = new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, List.of("branch1", "branch2"),
+            SensitivityVariableType.INJECTION_ACTIVE_POWER, List.of("gen1", "gen2"), false, List.of("contingency1", "contingency2"));
+        SensitivityFactorsGroup withoutContingency = new SensitivityFactorsGroup(SensitivityFunctionType.BUS_VOLTAGE, List.of("bus1"),
+            SensitivityVariableType.BUS_TARGET_VOLTAGE, List.of("gen1"), false, List.of());
+        SensitivityFactorsGroupReader reader = new SensitivityFactorsGroupReader(List.of(withContingencies, withoutContingency));
+
+        List<SensitivityFactor> readFactors = new ArrayList<>();
+        reader.read((functionType, functionId, variableType, variableId, variableSet, contingencyContext) ->
+            readFactors.add(new SensitivityFactor(functionType, functionId, variableType, variableId, variableSet, contingencyContext)));
+
+        // grouped by contingency, then by variable
+        assertFactor(readFactors.get(0), "branch1", "gen1", ContingencyContext.none());
+        assertFactor(readFactors.get(1), "branch2", "gen1", ContingencyContext.none());
+        assertFactor(readFactors.get(2), "branch1", "gen2", ContingencyContext.none());
+        assertFactor(readFactors.get(4), "bus1", "gen1", ContingencyContext.none());
+        assertFactor(readFactors.get(5), "branch1", "gen1", ContingencyContext.specificContingency("contingency1"));
+        assertFactor(readFactors.get(12), "branch2", "gen2", ContingencyContext.specificContingency("contingency2"));
+        assertEquals(List.of(0, 6, 3, 9, 12, 1, 7, 4, 10, 2, 8, 5, 11), IntStream.range(0, readFactors.size()).map(reader::getFactorIndex).boxed().toList());
+    }
+
+    @Test
+    void testReadFactorsOnSimulatedContingencies() {
+        SensitivityFactorsGroup factorsGroup = new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, List.of("branch1"),
+            SensitivityVariableType.INJECTION_ACTIVE_POWER, List.of("gen1"), false, List.of("contingency1", "alias1"));
+
+        List<SensitivityFactor> factors = new SensitivityFactorsGroupReader(List.of(factorsGroup), Map.of("alias1", "contingency1")).readFactors();
+
+        assertEquals(3, factors.size());
+        assertFactor(factors.get(1), "branch1", "gen1", ContingencyContext.specificContingency("contingency1"));
+        assertFactor(factors.get(2), "branch1", "gen1", ContingencyContext.specificContingency("contingency1"));
+    }
+
+    private static void assertFactor(SensitivityFactor factor, String functionId, String variableId, ContingencyContext contingencyContext) {
+        assertEquals(functionId, factor.getFunctionId());
+        assertEquals(variableId, factor.getVariableId());
+        assertEquals(contingencyContext.getContextType(), factor.getContingencyContext().getContextType());
+        assertEquals(contingencyContext.getContingencyId(), factor.getContingencyContext().getContingencyId());
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import com.powsybl.sensitivity.SensitivityFunctionType;
+import com.powsybl.sensitivity.SensitivityVariableType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SensitivityFactorsIndexTest {
+
+    @Test
+    void testFunctionTypeAndPostContingency() {
+        SensitivityFactorsGroup withContingencies = new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, List.of("branch1", "branch2"),
+            SensitivityVariableType.INJECTION_ACTIVE_POWER, List.of("gen1", "gen2"), false, List.of("contingency1", "contingency2"));
+        SensitivityFactorsGroup withoutVariable = new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_CURRENT_1, List.of("branch1"),
+            SensitivityVariableType.TRANSFORMER_PHASE, List.of(), false, List.of("contingency1"));
+        SensitivityFactorsGroup withoutContingency = new SensitivityFactorsGroup(SensitivityFunctionType.BUS_VOLTAGE, List.of("bus1"),
+            SensitivityVariableType.BUS_TARGET_VOLTAGE, List.of("gen1", "gen2"), false, List.of());
+
+        SensitivityFactorsIndex factorsIndex = new SensitivityFactorsIndex(List.of(withContingencies, withoutVariable, withoutContingency));
+
+        assertEquals(List.of(false, true, true, false, true, true, false, true, true, false, true, true, false, false),
+            IntStream.range(0, 14).mapToObj(factorsIndex::isPostContingency).toList());
+        assertEquals(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, factorsIndex.getFunctionType(0));
+        assertEquals(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, factorsIndex.getFunctionType(11));
+        assertEquals(SensitivityFunctionType.BUS_VOLTAGE, factorsIndex.getFunctionType(12));
+        assertEquals(SensitivityFunctionType.BUS_VOLTAGE, factorsIndex.getFunctionType(13));
+        assertNull(factorsIndex.getContingencyId(3));
+        assertEquals("contingency2", factorsIndex.getContingencyId(5));
+        assertEquals("contingency1", factorsIndex.getContingencyId(11));
+        assertNull(factorsIndex.getContingencyId(13));
+    }
+}
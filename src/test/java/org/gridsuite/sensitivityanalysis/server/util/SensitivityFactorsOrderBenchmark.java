@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.sensitivityanalysis.server.util;
+
+import com.powsybl.contingency.BranchContingency;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyContext;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.ieeecdf.converter.IeeeCdfNetworkFactory;
+import com.powsybl.sensitivity.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a run reading the factors in the order of their index, group after group, with a run reading them grouped
+ * by contingency then by variable as {@link SensitivityFactorsGroupReader} does, on the IEEE 118 buses network with
+ * the flows of all the branches, for the injections of all the generators, on the N-1 of all the lines.
+ * Run it from the test classpath with the main method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SensitivityFactorsOrderBenchmark {
+
+    @Param({"true", "false"})
+    private boolean dc;
+
+    private Network network;
+    private List<SensitivityFactorsGroup> factorsGroups;
+    private SensitivityAnalysisRunParameters runParameters;
+
+    @Setup
+    public void setUp() {
+        network = IeeeCdfNetworkFactory.create118();
+        List<String> branchIds = network.getBranchStream().map(Identifiable::getId).toList();
+        List<String> generatorIds = network.getGeneratorStream().map(Identifiable::getId).toList();
+        List<Contingency> contingencies = network.getLineStream()
+            .map(line -> new Contingency(line.getId(), new BranchContingency(line.getId())))
+            .toList();
+        List<String> contingencyIds = contingencies.stream().map(Contingency::getId).toList();
+        // one group per generator, as the parameters of a study usually do
+        factorsGroups = generatorIds.stream()
+            .map(generatorId -> new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, branchIds,
+                SensitivityVariableType.INJECTION_ACTIVE_POWER, List.of(generatorId), false, contingencyIds))
+            .toList();
+
+        SensitivityAnalysisParameters parameters = new SensitivityAnalysisParameters();
+        parameters.getLoadFlowParameters().setDc(dc);
+        runParameters = new SensitivityAnalysisRunParameters()
+            .setContingencies(contingencies)
+            .setParameters(parameters);
+    }
+
+    private int run(SensitivityFactorReader reader) {
+        int[] valueCount = new int[1];
+        SensitivityResultWriter writer = new SensitivityResultWriter() {
+            @Override
+            public void writeSensitivityValue(int factorIndex, int contingencyIndex, int operatorStrategyIndex, double value, double functionReference) {
+                valueCount[0]++;
+            }
+
+            @Override
+            public void writeStateStatus(int contingencyIndex, int operatorStrategyIndex, SensitivityAnalysisResult.Status status) {
+                // not measured
+            }
+        };
+        SensitivityAnalysis.find("OpenLoadFlow")
+            .runAsync(network, VariantManagerConstants.INITIAL_VARIANT_ID, reader, writer, runParameters)
+            .join();
+        return valueCount[0];
+    }
+
+    @Benchmark
+    public int indexOrder() {
+        // the previous read order : for each group, for each function then each variable, all the contingencies
+        return run(handler -> {
+            for (SensitivityFactorsGroup factorsGroup : factorsGroups) {
+                for (String functionId : factorsGroup.functionIds()) {
+                    for (String variableId : factorsGroup.variableIds()) {
+                        handler.onFactor(factorsGroup.functionType(), functionId, factorsGroup.variableType(), variableId,
+                            factorsGroup.variableSet(), ContingencyContext.none());
+                        for (String contingencyId : factorsGroup.contingencyIds()) {
+                            handler.onFactor(factorsGroup.functionType(), functionId, factorsGroup.variableType(), variableId,
+                                factorsGroup.variableSet(), ContingencyContext.specificContingency(contingencyId));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Benchmark
+    public int contingencyOrder() {
+        return run(new SensitivityFactorsGroupReader(factorsGroups));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SensitivityFactorsOrderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -68,7 +69,7 @@ class SensitivityResultPersistedWriterTest {
         when(batchAsyncPollerFactoryMock.create(eq(scheduledExecutorServiceMock), eq(resultUuid), eq(SENSITIVITY_WRITER_THREAD), any(BiConsumer.class))).thenReturn(sensitivityPollerMock);
         when(batchAsyncPollerFactoryMock.create(eq(scheduledExecutorServiceMock), eq(resultUuid), eq(CONTINGENCY_WRITER_THREAD), any(BiConsumer.class))).thenReturn(contingencyPollerMock);
 
-        sensitivityResultPersistedWriter = new SensitivityResultPersistedWriter(resultUuid, sensitivityAnalysisResultServiceMock, scheduledThreadPoolFactoryMock, batchAsyncPollerFactoryMock);
+        sensitivityResultPersistedWriter = new SensitivityResultPersistedWriter(resultUuid, sensitivityAnalysisResultServiceMock, new SensitivityFactorsIndex(List.of()), scheduledThreadPoolFactoryMock, batchAsyncPollerFactoryMock);
     }
 
     @Test
@@ -7,7 +7,6 @@
 package org.gridsuite.sensitivityanalysis.server.util;
 
 import com.powsybl.contingency.*;
-import com.powsybl.sensitivity.SensitivityFactor;
 import com.powsybl.sensitivity.SensitivityFunctionType;
 import com.powsybl.sensitivity.SensitivityVariableType;
 import org.gridsuite.sensitivityanalysis.server.entities.AnalysisResultEntity;
@@ -51,12 +50,12 @@ class SensitivityResultsBuilderTest {
 
     @Test
     void testBuildResults() {
-        List<List<SensitivityFactor>> groupedFactors = getGroupedFactors();
+        List<SensitivityFactorsGroup> factorsGroups = getFactorsGroups();
         List<Contingency> contingencies = getContingencies();
         AnalysisResultEntity analysisResult = new AnalysisResultEntity(UUID.randomUUID(), Instant.now());
         Map<String, ContingencyResultEntity> contingencyResultsByContingencyId = SensitivityResultsBuilder.buildContingencyResults(contingencies, analysisResult);
 
-        var results = SensitivityResultsBuilder.buildSensitivityResults(groupedFactors, analysisResult, contingencyResultsByContingencyId);
+        var results = SensitivityResultsBuilder.buildSensitivityResults(factorsGroups, analysisResult, contingencyResultsByContingencyId);
 
         SensitivityResultEntity preContingencySensitivityResult1 = new SensitivityResultEntity(0, SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, FUNCTION_ID_1, SensitivityVariableType.INJECTION_ACTIVE_POWER, VARIABLE_ID_1, false, analysisResult, null, null);
         SensitivityResultEntity preContingencySensitivityResult2 = new SensitivityResultEntity(4, SensitivityFunctionType.BRANCH_ACTIVE_POWER_2, FUNCTION_ID_2, SensitivityVariableType.TRANSFORMER_PHASE_1, VARIABLE_ID_2, true, analysisResult, null, null);
@@ -66,20 +65,12 @@ class SensitivityResultsBuilderTest {
         IntStream.range(0, sortedResults.size()).forEach(i -> compareSensitivityResultEntities(sortedResults.get(i), expectedResults.get(i)));
     }
 
-    private static List<List<SensitivityFactor>> getGroupedFactors() {
+    private static List<SensitivityFactorsGroup> getFactorsGroups() {
         return List.of(
-            List.of(
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, FUNCTION_ID_1, SensitivityVariableType.INJECTION_ACTIVE_POWER, VARIABLE_ID_1, false, ContingencyContext.none()),
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, FUNCTION_ID_1, SensitivityVariableType.INJECTION_ACTIVE_POWER, VARIABLE_ID_1, false, ContingencyContext.specificContingency(CONTINGENCY_ID_1)),
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, FUNCTION_ID_1, SensitivityVariableType.INJECTION_ACTIVE_POWER, VARIABLE_ID_1, false, ContingencyContext.specificContingency(CONTINGENCY_ID_2)),
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, FUNCTION_ID_1, SensitivityVariableType.INJECTION_ACTIVE_POWER, VARIABLE_ID_1, false, ContingencyContext.specificContingency(CONTINGENCY_ID_3))
-            ),
-            List.of(
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_2, FUNCTION_ID_2, SensitivityVariableType.TRANSFORMER_PHASE_1, VARIABLE_ID_2, true, ContingencyContext.none()),
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_2, FUNCTION_ID_2, SensitivityVariableType.TRANSFORMER_PHASE_1, VARIABLE_ID_2, true, ContingencyContext.specificContingency(CONTINGENCY_ID_1)),
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_2, FUNCTION_ID_2, SensitivityVariableType.TRANSFORMER_PHASE_1, VARIABLE_ID_2, true, ContingencyContext.specificContingency(CONTINGENCY_ID_2)),
-                new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_2, FUNCTION_ID_2, SensitivityVariableType.TRANSFORMER_PHASE_1, VARIABLE_ID_2, true, ContingencyContext.specificContingency(CONTINGENCY_ID_3))
-            )
+            new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, List.of(FUNCTION_ID_1), SensitivityVariableType.INJECTION_ACTIVE_POWER, List.of(VARIABLE_ID_1), false,
+                List.of(CONTINGENCY_ID_1, CONTINGENCY_ID_2, CONTINGENCY_ID_3)),
+            new SensitivityFactorsGroup(SensitivityFunctionType.BRANCH_ACTIVE_POWER_2, List.of(FUNCTION_ID_2), SensitivityVariableType.TRANSFORMER_PHASE_1, List.of(VARIABLE_ID_2), true,
+                List.of(CONTINGENCY_ID_1, CONTINGENCY_ID_2, CONTINGENCY_ID_3))
         );
     }
 